@@ -0,0 +1,99 @@
+package com.authplatform.client.benchmark;
+
+import com.authplatform.client.config.AuthClientHttpConfiguration;
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.AuthResponse;
+import com.authplatform.client.dto.EndUserLoginRequest;
+import com.authplatform.client.dto.EndUserResponse;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.resilience.AdaptiveConcurrencyLimiter;
+import com.authplatform.client.security.TokenValidator;
+import com.authplatform.client.service.AuthClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip của {@link AuthClient} và {@link TokenValidator} (không cache) qua HTTP thật
+ * đến {@link StubAuthServer} chạy trong cùng process, dùng cùng HTTP client như auto-configuration
+ * với từng giá trị của {@code auth.client.http.transport}. Stub chỉ hỗ trợ HTTP/1.1, nên với {@code JDK}
+ * số đo là của HttpClient JDK trên HTTP/1.1, không có multiplexing.
+ * Stub bật TCP_NODELAY để số đo không bị delayed ACK (~40ms) của HTTP server trong JDK làm sai lệch.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class AuthClientRoundTripBenchmark {
+
+    @Param({"HTTP_COMPONENTS", "JDK"})
+    public AuthClientProperties.Http.Transport transport;
+
+    private StubAuthServer server;
+    private CloseableHttpClient httpClient;
+    private AuthClient authClient;
+    private TokenValidator tokenValidator;
+    private EndUserLoginRequest loginRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new StubAuthServer();
+
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.setBaseUrl(server.baseUrl());
+        properties.setApiKey("bench");
+
+        properties.getHttp().setTransport(transport);
+        // Không bật giới hạn lời gọi đồng thời và gửi lại: đo round trip thuần.
+        StaticListableBeanFactory noBeans = new StaticListableBeanFactory();
+        ObjectProvider<AdaptiveConcurrencyLimiter> noLimiter = noBeans.getBeanProvider(AdaptiveConcurrencyLimiter.class);
+        ObjectProvider<ExecutorService> noHedging = noBeans.getBeanProvider(ExecutorService.class);
+        RestTemplate restTemplate;
+        if (transport == AuthClientProperties.Http.Transport.JDK) {
+            AuthClientHttpConfiguration.JdkTransport http = new AuthClientHttpConfiguration.JdkTransport();
+            restTemplate = http.authClientRestTemplate(properties, http.authClientJdkHttpClient(properties), noLimiter, noHedging);
+        } else {
+            AuthClientHttpConfiguration.HttpComponentsTransport http = new AuthClientHttpConfiguration.HttpComponentsTransport();
+            httpClient = http.authClientHttpClient(properties);
+            restTemplate = http.authClientRestTemplate(properties, httpClient, noLimiter, noHedging);
+        }
+
+        authClient = new AuthClient(properties, restTemplate);
+        tokenValidator = new TokenValidator(properties, restTemplate, null, null, null, null, null);
+
+        loginRequest = new EndUserLoginRequest();
+        loginRequest.setEmail("bench@example.com");
+        loginRequest.setPassword("secret");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public AuthResponse login() {
+        return authClient.loginEndUser(loginRequest);
+    }
+
+    @Benchmark
+    public EndUserResponse getMyProfile() {
+        return authClient.getMyProfile("bench-token");
+    }
+
+    @Benchmark
+    public TokenValidationResponse validateToken() {
+        return tokenValidator.validate("bench-token");
+    }
+}
@@ -0,0 +1,129 @@
+package com.authplatform.client.benchmark;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.security.RequiresProjectLevel;
+import com.authplatform.client.security.RequiresProjectRole;
+import com.authplatform.client.security.SecurityAspect;
+import com.authplatform.client.security.TokenValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí của {@code SecurityAspect.checkRole}/{@code checkLevel} khi gọi qua proxy AOP.
+ * Token đã được xác thực sẵn trong request (như sau lần kiểm tra đầu tiên của một request thật),
+ * nên số đo chỉ gồm phần kiểm tra quyền, không gồm lời gọi HTTP.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthorizationBenchmark {
+
+    public static class Endpoints {
+
+        @RequiresProjectRole({"MANAGER", "ADMIN"})
+        public String adminOnly() {
+            return "ok";
+        }
+
+        @RequiresProjectRole("OWNER")
+        public String ownerOnly() {
+            return "ok";
+        }
+
+        @RequiresProjectLevel(100)
+        public String levelHundred() {
+            return "ok";
+        }
+
+        public String unprotected() {
+            return "ok";
+        }
+    }
+
+    private Endpoints endpoints;
+    private TokenValidationResponse validatedUser;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.setBaseUrl("http://127.0.0.1:1");
+        properties.setApiKey("bench");
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Endpoints());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SecurityAspect(new TokenValidator(properties, null)));
+        endpoints = factory.getProxy();
+
+        validatedUser = new TokenValidationResponse();
+        validatedUser.setValid(true);
+        validatedUser.setUserId("42");
+        validatedUser.setEmail("bench@example.com");
+        validatedUser.setRoles(Set.of("USER", "ADMIN"));
+        validatedUser.setMaxRoleLevel(500);
+
+        request = newRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private MockHttpServletRequest newRequest() {
+        MockHttpServletRequest mock = new MockHttpServletRequest("GET", "/bench");
+        mock.addHeader("Authorization", "Bearer bench-token");
+        mock.setAttribute(TokenValidator.VALIDATED_USER_ATTRIBUTE, validatedUser);
+        return mock;
+    }
+
+    /**
+     * Mốc so sánh: chi phí của proxy AOP khi method không có annotation.
+     */
+    @Benchmark
+    public String unprotected() {
+        return endpoints.unprotected();
+    }
+
+    @Benchmark
+    public String checkRoleGranted() {
+        return endpoints.adminOnly();
+    }
+
+    @Benchmark
+    public String checkLevelGranted() {
+        return endpoints.levelHundred();
+    }
+
+    /**
+     * Bao gồm cả chi phí tạo và ném exception khi bị từ chối.
+     */
+    @Benchmark
+    public Object checkRoleDenied() {
+        try {
+            return endpoints.ownerOnly();
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Mỗi lần gọi là một request mới: gồm cả việc dựng tập role của user (và tạo mock request).
+     */
+    @Benchmark
+    public String checkRoleFreshRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(newRequest()));
+        return endpoints.adminOnly();
+    }
+}
@@ -0,0 +1,25 @@
+package com.authplatform.client.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Chạy JMH như {@code org.openjdk.jmh.Main} nhưng luôn bật {@link GCProfiler},
+ * để kết quả có cả tốc độ cấp phát bộ nhớ ({@code gc.alloc.rate.norm}) bên cạnh throughput và thời gian trung bình.
+ * Các tham số dòng lệnh của JMH (bộ lọc benchmark, {@code -f}, {@code -wi}, ...) vẫn dùng được như bình thường.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
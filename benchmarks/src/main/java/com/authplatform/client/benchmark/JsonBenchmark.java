@@ -0,0 +1,69 @@
+package com.authplatform.client.benchmark;
+
+import com.authplatform.client.dto.EndUserResponse;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialize/deserialize JSON của {@link TokenValidationResponse} và {@link EndUserResponse}
+ * bằng Jackson, như khi {@code RestTemplate} đọc/ghi body.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectReader validationReader;
+    private ObjectWriter validationWriter;
+    private ObjectReader profileReader;
+    private ObjectWriter profileWriter;
+
+    private byte[] validationJson;
+    private byte[] profileJson;
+    private TokenValidationResponse validation;
+    private EndUserResponse profile;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        validationReader = mapper.readerFor(TokenValidationResponse.class);
+        validationWriter = mapper.writerFor(TokenValidationResponse.class);
+        profileReader = mapper.readerFor(EndUserResponse.class);
+        profileWriter = mapper.writerFor(EndUserResponse.class);
+
+        validationJson = StubAuthServer.VALIDATION_JSON.getBytes(StandardCharsets.UTF_8);
+        profileJson = StubAuthServer.PROFILE_JSON.getBytes(StandardCharsets.UTF_8);
+        validation = validationReader.readValue(validationJson);
+        profile = profileReader.readValue(profileJson);
+    }
+
+    @Benchmark
+    public TokenValidationResponse readTokenValidationResponse() throws IOException {
+        return validationReader.readValue(validationJson);
+    }
+
+    @Benchmark
+    public byte[] writeTokenValidationResponse() throws IOException {
+        return validationWriter.writeValueAsBytes(validation);
+    }
+
+    @Benchmark
+    public EndUserResponse readEndUserResponse() throws IOException {
+        return profileReader.readValue(profileJson);
+    }
+
+    @Benchmark
+    public byte[] writeEndUserResponse() throws IOException {
+        return profileWriter.writeValueAsBytes(profile);
+    }
+}
@@ -0,0 +1,70 @@
+package com.authplatform.client.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Dịch vụ xác thực giả chạy trong cùng process, trả về JSON cố định cho các endpoint mà benchmark dùng.
+ * Không có độ trễ nhân tạo: benchmark đo chi phí của phía client (pool kết nối, serialize, circuit breaker, ...).
+ */
+final class StubAuthServer implements AutoCloseable {
+
+    static final String VALIDATION_JSON =
+            "{\"valid\":true,\"email\":\"bench@example.com\",\"userId\":\"42\",\"roles\":[\"ADMIN\",\"USER\"],\"maxRoleLevel\":500}";
+    static final String PROFILE_JSON =
+            "{\"id\":42,\"fullName\":\"Bench User\",\"email\":\"bench@example.com\",\"emailVerified\":true,\"locked\":false,\"roles\":[\"ADMIN\",\"USER\"]}";
+    static final String LOGIN_JSON = "{\"accessToken\":\"bench-token\",\"tokenType\":\"Bearer\"}";
+
+    private static final byte[] VALIDATION = VALIDATION_JSON.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PROFILE = PROFILE_JSON.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LOGIN = LOGIN_JSON.getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    StubAuthServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            String path = exchange.getRequestURI().getPath();
+            byte[] body;
+            if (path.endsWith("/auth/validate-token")) {
+                body = VALIDATION;
+            } else if (path.endsWith("/auth/login")) {
+                body = LOGIN;
+            } else if (path.equals("/api/eu/me")) {
+                body = PROFILE;
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
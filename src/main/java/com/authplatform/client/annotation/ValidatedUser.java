@@ -0,0 +1,14 @@
+package com.authplatform.client.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Đánh dấu tham số kiểu {@code TokenValidationResponse} của controller để nhận thông tin EndUser đã xác thực.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidatedUser {
+}
@@ -0,0 +1,11 @@
+package com.authplatform.client.cache;
+
+/**
+ * Chiến lược loại bỏ phần tử khi cache đã đầy.
+ */
+public enum EvictionPolicy {
+    /** Loại bỏ phần tử ít được truy cập gần đây nhất. */
+    LRU,
+    /** Loại bỏ phần tử được thêm vào sớm nhất, bất kể có được truy cập hay không. */
+    FIFO
+}
@@ -0,0 +1,67 @@
+package com.authplatform.client.cache;
+
+import com.authplatform.client.dto.TokenValidationResponse;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link SharedValidationStore} trong bộ nhớ, không giới hạn kích thước. Dùng cho test, hoặc dùng chung
+ * một instance cho nhiều application context trong cùng JVM để giả lập nhiều node.
+ */
+public class InMemorySharedValidationStore implements SharedValidationStore {
+
+    private static final class Entry {
+        private final TokenValidationResponse response;
+        private final long expiresAt;
+
+        private Entry(TokenValidationResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> fingerprintsByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public TokenValidationResponse get(String fingerprint) {
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() <= 0) {
+            entries.remove(fingerprint, entry);
+            return null;
+        }
+        return entry.response;
+    }
+
+    @Override
+    public void put(String fingerprint, TokenValidationResponse response, Duration ttl) {
+        entries.put(fingerprint, new Entry(response, System.nanoTime() + ttl.toNanos()));
+        if (response.getUserId() != null) {
+            fingerprintsByUser.computeIfAbsent(response.getUserId(), id -> ConcurrentHashMap.newKeySet()).add(fingerprint);
+        }
+    }
+
+    @Override
+    public void evictUser(String userId) {
+        Set<String> fingerprints = fingerprintsByUser.remove(userId);
+        if (fingerprints != null) {
+            fingerprints.forEach(entries::remove);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        entries.clear();
+        fingerprintsByUser.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.authplatform.client.cache;
+
+/**
+ * Kênh pub/sub để báo cho mọi instance của ứng dụng xóa kết quả xác thực đã cache của một EndUser
+ * (ví dụ Redis pub/sub). {@code AuthClient} phát sự kiện sau khi khóa EndUser hoặc đổi vai trò;
+ * cache cục bộ của mỗi instance đăng ký nhận.
+ * <p>
+ * Sự kiện được phát cũng phải đến các listener của chính instance phát.
+ * Khi ứng dụng không khai báo bean kiểu này, {@link LoopbackInvalidationBus} được dùng: sự kiện chỉ đến
+ * cache của chính instance đó.
+ */
+public interface InvalidationBus {
+
+    void publishUser(String userId);
+
+    /**
+     * Xóa kết quả của mọi EndUser, ví dụ khi một vai trò bị sửa hoặc xóa.
+     */
+    void publishAll();
+
+    void subscribe(InvalidationListener listener);
+}
@@ -0,0 +1,11 @@
+package com.authplatform.client.cache;
+
+/**
+ * Nhận các sự kiện của {@link InvalidationBus}.
+ */
+public interface InvalidationListener {
+
+    void userInvalidated(String userId);
+
+    void allInvalidated();
+}
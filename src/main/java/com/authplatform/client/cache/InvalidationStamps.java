@@ -0,0 +1,75 @@
+package com.authplatform.client.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mốc xóa theo EndUser cho các cache khóa theo token. Một EndUser có thể có nhiều token (nhiều phiên),
+ * nên việc xóa theo EndUser không duyệt cache: mỗi lần xóa ghi lại một mốc cho EndUser đó, và mọi giá trị
+ * được tải trước mốc này coi như không có. Mốc được lấy trước khi gọi HTTP ({@link #begin()}), nên một lời gọi
+ * đang chạy song song với lần xóa cũng không ghi được dữ liệu cũ vào cache.
+ */
+public class InvalidationStamps<K> {
+
+    private static final class Invalidation {
+        private final long stamp;
+        private final long createdAt;
+
+        private Invalidation(long stamp, long createdAt) {
+            this.stamp = stamp;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final ConcurrentMap<K, Invalidation> invalidations = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private volatile long allInvalidatedStamp;
+    private final int maxSize;
+    private final long retentionNanos;
+
+    /**
+     * @param maxSize số mốc được giữ trước khi dọn các mốc cũ
+     * @param retention thời gian tối đa một giá trị còn nằm trong cache; mốc cũ hơn không cần giữ nữa
+     */
+    public InvalidationStamps(int maxSize, Duration retention) {
+        this.maxSize = maxSize;
+        this.retentionNanos = retention.toNanos();
+    }
+
+    /**
+     * Mốc của một lần tải; lấy trước khi gọi HTTP và lưu cùng giá trị trong cache.
+     */
+    public long begin() {
+        return clock.incrementAndGet();
+    }
+
+    /**
+     * @return {@code true} nếu giá trị của {@code key} tải ở mốc {@code stamp} đã bị xóa sau đó
+     */
+    public boolean isInvalidatedSince(K key, long stamp) {
+        if (allInvalidatedStamp > stamp) {
+            return true;
+        }
+        Invalidation invalidation = key != null ? invalidations.get(key) : null;
+        return invalidation != null && invalidation.stamp > stamp;
+    }
+
+    public void invalidate(K key) {
+        if (key == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        invalidations.put(key, new Invalidation(clock.incrementAndGet(), now));
+        if (invalidations.size() > maxSize) {
+            // Giá trị tải trước một mốc đã quá thời gian giữ trong cache thì cũng đã rời cache: mốc đó không cần nữa.
+            invalidations.values().removeIf(invalidation -> now - invalidation.createdAt > retentionNanos);
+        }
+    }
+
+    public void invalidateAll() {
+        allInvalidatedStamp = clock.incrementAndGet();
+        invalidations.clear();
+    }
+}
@@ -0,0 +1,199 @@
+package com.authplatform.client.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache trong bộ nhớ có giới hạn kích thước và thời gian sống (TTL) cho mỗi phần tử.
+ * Thread-safe; mọi thao tác đều là O(1).
+ * <p>
+ * Cache được chia thành nhiều phân đoạn theo hash của khóa, mỗi phân đoạn có khóa riêng và giữ một phần
+ * {@code maxSize}: các lời gọi {@link #get} song song trên các khóa khác nhau hầu như không chờ nhau.
+ * Vì vậy {@link EvictionPolicy} được áp dụng trong từng phân đoạn, không phải trên toàn cache.
+ */
+public class LocalCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 64;
+
+    private final long ttlNanos;
+    private final long staleRetentionNanos;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LocalCache(int maxSize, Duration ttl, EvictionPolicy evictionPolicy) {
+        this(maxSize, ttl, evictionPolicy, Duration.ZERO);
+    }
+
+    /**
+     * @param staleRetention thời gian giữ lại một phần tử sau khi hết TTL để có thể đọc qua {@link #getStale}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LocalCache(int maxSize, Duration ttl, EvictionPolicy evictionPolicy, Duration staleRetention) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive.");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive.");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.staleRetentionNanos = staleRetention == null ? 0 : Math.max(0, staleRetention.toNanos());
+        // Số phân đoạn là lũy thừa của 2, đủ cho số CPU, và mỗi phân đoạn giữ ít nhất 16 phần tử.
+        int wanted = Math.min(MAX_SEGMENTS, Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 2, maxSize / 16)));
+        int count = Integer.highestOneBit(wanted);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(maxSize / count + (i < maxSize % count ? 1 : 0), evictionPolicy, evictions);
+        }
+        this.segmentMask = count - 1;
+    }
+
+    /**
+     * Trả về giá trị còn hạn, hoặc null nếu không có / đã hết hạn.
+     */
+    public V get(K key) {
+        long now = System.nanoTime();
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - now > 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                if (entry.expiresAt + staleRetentionNanos - now <= 0) {
+                    segment.remove(key);
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Trả về giá trị kể cả khi đã hết TTL, miễn là chưa quá thời gian giữ lại (stale retention).
+     * Không tính vào số lần hit/miss.
+     */
+    public V getStale(K key) {
+        long now = System.nanoTime();
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry != null && entry.expiresAt + staleRetentionNanos - now > 0) {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /**
+     * Như {@link #put(Object, Object)}, nhưng phần tử hết hạn sau {@code ttl} nếu ngắn hơn TTL của cache.
+     */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttlNanos, Math.max(0, ttl.toNanos())));
+    }
+
+    private void put(K key, V value, long entryTtlNanos) {
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + entryTtlNanos);
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Dọn các phần tử đã hết hạn (và hết thời gian giữ lại). Không bắt buộc phải gọi, vì phần tử hết hạn
+     * cũng sẽ bị loại bỏ khi được đọc hoặc khi cache đầy.
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<V>> it = segment.values().iterator();
+                while (it.hasNext()) {
+                    if (it.next().expiresAt + staleRetentionNanos - now <= 0) {
+                        it.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        // Trộn các bit cao xuống, vì hash của khóa có thể chỉ khác nhau ở bit cao.
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+        private final LongAdder evictions;
+
+        private Segment(int maxSize, EvictionPolicy evictionPolicy, LongAdder evictions) {
+            // accessOrder = true biến LinkedHashMap thành LRU, false giữ thứ tự chèn (FIFO)
+            super(16, 0.75f, evictionPolicy == EvictionPolicy.LRU);
+            this.maxSize = maxSize;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
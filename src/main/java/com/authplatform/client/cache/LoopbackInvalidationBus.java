@@ -0,0 +1,32 @@
+package com.authplatform.client.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link InvalidationBus} trong bộ nhớ: sự kiện được giao ngay trên thread phát cho mọi listener đã đăng ký.
+ * Dùng cho test, hoặc dùng chung một instance cho nhiều application context trong cùng JVM để giả lập nhiều node.
+ */
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publishUser(String userId) {
+        for (InvalidationListener listener : listeners) {
+            listener.userInvalidated(userId);
+        }
+    }
+
+    @Override
+    public void publishAll() {
+        for (InvalidationListener listener : listeners) {
+            listener.allInvalidated();
+        }
+    }
+
+    @Override
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,30 @@
+package com.authplatform.client.cache;
+
+import com.authplatform.client.dto.TokenValidationResponse;
+
+import java.time.Duration;
+
+/**
+ * Cache cấp hai dùng chung giữa các instance của ứng dụng (ví dụ Redis), đứng sau cache cục bộ
+ * {@code TokenValidationCache}: một token đã được instance khác xác thực không cần gọi lại /validate-token.
+ * <p>
+ * Khóa là {@link TokenFingerprint} của token, không bao giờ là token gốc. Lỗi của store không làm hỏng
+ * việc xác thực: lời gọi bị bỏ qua và token được xác thực như khi không có store.
+ * Khai báo một bean kiểu này để bật; {@link InMemorySharedValidationStore} dùng cho test.
+ */
+public interface SharedValidationStore {
+
+    /**
+     * @return kết quả còn hạn của token có fingerprint này, hoặc {@code null}
+     */
+    TokenValidationResponse get(String fingerprint);
+
+    void put(String fingerprint, TokenValidationResponse response, Duration ttl);
+
+    /**
+     * Xóa kết quả của mọi token thuộc EndUser này.
+     */
+    void evictUser(String userId);
+
+    void evictAll();
+}
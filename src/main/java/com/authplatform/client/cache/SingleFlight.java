@@ -0,0 +1,91 @@
+package com.authplatform.client.cache;
+
+import com.authplatform.client.resilience.CallNotPermittedException;
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.resilience.DeadlineExceededException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Gộp các lời gọi đồng thời có cùng khóa: chỉ thread đầu tiên thực sự chạy {@code loader},
+ * các thread đến sau chờ và nhận chung kết quả (hoặc chung lỗi) của lời gọi đó.
+ * Thread đến sau không chờ quá {@link Deadline} của chính nó. Nếu leader thất bại với
+ * {@link CallNotPermittedException} (hết deadline của leader, vượt giới hạn đồng thời...), thread đến sau
+ * còn thời gian sẽ tự chạy lại {@code loader} thay vì nhận lỗi đó.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing;
+        while ((existing = inFlight.putIfAbsent(key, call)) != null) {
+            try {
+                return await(existing);
+            } catch (CallNotPermittedException e) {
+                // Leader bị từ chối vì deadline hoặc giới hạn của riêng nó: thread còn thời gian tự gọi lại.
+                Deadline deadline = Deadline.current();
+                if (deadline != null && deadline.isExpired()) {
+                    throw e;
+                }
+                inFlight.remove(key, existing);
+            }
+        }
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Số lời gọi đang chạy (mỗi khóa tính một lần).
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            try {
+                return call.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause(), e);
+            }
+        }
+        try {
+            return call.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline exceeded while waiting for an in-flight call.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted while waiting for an in-flight call.");
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause(), new CompletionException(e.getCause()));
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause, RuntimeException fallback) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return fallback;
+    }
+}
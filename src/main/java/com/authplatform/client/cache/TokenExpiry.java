@@ -0,0 +1,40 @@
+package com.authplatform.client.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Đọc claim {@code exp} của một JWT mà không xác thực chữ ký, để không cache kết quả xác thực lâu hơn
+ * thời hạn của chính token. Không dùng để quyết định token có hợp lệ hay không.
+ */
+public final class TokenExpiry {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private TokenExpiry() {
+    }
+
+    /**
+     * @return thời gian còn lại đến {@code exp} (có thể âm), hoặc {@code null} nếu token không phải JWT có {@code exp}
+     */
+    public static Duration remaining(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0) {
+            return null;
+        }
+        try {
+            JsonNode exp = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot))).get("exp");
+            if (exp == null || !exp.canConvertToLong()) {
+                return null;
+            }
+            return Duration.ofMillis(exp.asLong() * 1000 - System.currentTimeMillis());
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.resilience.AdaptiveConcurrencyLimiter;
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.resilience.DeadlineExceededException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Kiểm soát mọi lời gọi đi qua {@code authClientRestTemplate}: từ chối ngay khi {@link Deadline} của request
+ * đã qua, gửi thời gian còn lại cho dịch vụ xác thực, và giữ một suất của {@link AdaptiveConcurrencyLimiter}
+ * (nếu bật) cho đến khi response được đóng.
+ */
+class AdmissionControlInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String deadlineHeader;
+
+    /**
+     * @param limiter giới hạn lời gọi đồng thời; {@code null} để tắt
+     * @param deadlineHeader header mang thời gian còn lại (mili giây); {@code null} để không gửi
+     */
+    AdmissionControlInterceptor(AdaptiveConcurrencyLimiter limiter, String deadlineHeader) {
+        this.limiter = limiter;
+        this.deadlineHeader = deadlineHeader;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        checkDeadline(request);
+        if (limiter == null) {
+            return execution.execute(request, body);
+        }
+        long start = limiter.acquire();
+        boolean overloaded = false;
+        ClientHttpResponse response = null;
+        try {
+            // Có thể đã chờ trong hàng đợi của limiter: thời gian còn lại phải được tính lại.
+            checkDeadline(request);
+            overloaded = true;
+            response = execution.execute(request, body);
+            overloaded = isOverloaded(response);
+            return new PermitHoldingResponse(response, limiter, start, overloaded);
+        } catch (IOException | RuntimeException | Error e) {
+            if (response != null) {
+                response.close();
+            }
+            limiter.release(start, overloaded);
+            throw e;
+        }
+    }
+
+    /**
+     * Dịch vụ báo quá tải (429 hoặc 5xx).
+     */
+    static boolean isOverloaded(ClientHttpResponse response) throws IOException {
+        return response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || response.getStatusCode().is5xxServerError();
+    }
+
+    private void checkDeadline(HttpRequest request) {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return;
+        }
+        long remainingMillis = deadline.remaining().toMillis();
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded; the auth service call to "
+                    + request.getURI().getPath() + " was not sent.");
+        }
+        if (deadlineHeader != null) {
+            request.getHeaders().set(deadlineHeader, Long.toString(remainingMillis));
+        }
+    }
+
+    /**
+     * Giữ suất của limiter cho đến khi response được đóng (body đã đọc xong hoặc bị bỏ), không chỉ đến khi
+     * nhận được header, để giới hạn tính cả thời gian đọc body.
+     */
+    static final class PermitHoldingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+        private final boolean overloaded;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitHoldingResponse(ClientHttpResponse delegate, AdaptiveConcurrencyLimiter limiter, long start,
+                              boolean overloaded) {
+            this.delegate = delegate;
+            this.limiter = limiter;
+            this.start = start;
+            this.overloaded = overloaded;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    limiter.release(start, overloaded);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.authplatform.client.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor cho các phương thức {@code *Async} của {@code AuthClient}.
+ * Ứng dụng có thể thay thế bằng cách tự khai báo bean {@code authClientAsyncExecutor}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class AuthClientAsyncConfiguration {
+
+    public static final String ASYNC_EXECUTOR_BEAN_NAME = "authClientAsyncExecutor";
+
+    @Bean(name = ASYNC_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = ASYNC_EXECUTOR_BEAN_NAME)
+    public ExecutorService authClientAsyncExecutor(AuthClientProperties properties) {
+        AuthClientProperties.Async async = properties.getAsync();
+        if (async.isVirtualThreads()) {
+            ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+            if (virtualThreads != null) {
+                return virtualThreads;
+            }
+        }
+        AtomicInteger index = new AtomicInteger();
+        return Executors.newFixedThreadPool(async.getPoolSize(), r -> {
+            Thread thread = new Thread(r, "auth-client-async-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gọi {@code Executors.newVirtualThreadPerTaskExecutor()} qua reflection vì thư viện được biên dịch cho Java 17.
+     * Trả về null nếu JVM hiện tại chưa hỗ trợ virtual thread.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -1,33 +1,133 @@
 package com.authplatform.client.config;
 
+import com.authplatform.client.cache.InvalidationBus;
+import com.authplatform.client.cache.SharedValidationStore;
+import com.authplatform.client.jwt.JwksKeyProvider;
+import com.authplatform.client.jwt.JwtVerifier;
+import com.authplatform.client.metrics.AuthClientMetrics;
+import com.authplatform.client.resilience.CircuitBreaker;
+import com.authplatform.client.resilience.RequestDeadlineFilter;
 import com.authplatform.client.resolver.AuthTokenArgumentResolver;
+import com.authplatform.client.resolver.ValidatedUserArgumentResolver;
+import com.authplatform.client.security.AuthorizationFilter;
+import com.authplatform.client.security.RejectedTokenCache;
 import com.authplatform.client.security.SecurityAspect;
+import com.authplatform.client.security.TokenValidationBatcher;
+import com.authplatform.client.security.TokenValidationCache;
+import com.authplatform.client.security.TokenValidator;
 import com.authplatform.client.service.AuthClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import java.util.List; // Import
+import java.util.concurrent.Executor;
 
 @Configuration
-@ConditionalOnWebApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableConfigurationProperties(AuthClientProperties.class)
+@Import({AuthClientHttpConfiguration.class, AuthClientValidationConfiguration.class, AuthClientAsyncConfiguration.class,
+        AuthClientMetricsConfiguration.class})
 public class AuthClientAutoConfiguration implements WebMvcConfigurer {
 
+    private final ObjectProvider<TokenValidator> tokenValidator;
+
+    public AuthClientAutoConfiguration(ObjectProvider<TokenValidator> tokenValidator) {
+        this.tokenValidator = tokenValidator;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.client.batch-validation", name = "enabled")
+    public TokenValidationBatcher tokenValidationBatcher(AuthClientProperties properties,
+                                                         @Qualifier(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME) RestTemplate restTemplate) {
+        return new TokenValidationBatcher(properties, restTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.client.jwt", name = "enabled")
+    public JwksKeyProvider jwksKeyProvider(AuthClientProperties properties,
+                                           @Qualifier(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME) RestTemplate restTemplate) {
+        AuthClientProperties.Jwt jwt = properties.getJwt();
+        return new JwksKeyProvider(AuthClientValidationConfiguration.jwksUri(properties), restTemplate,
+                jwt.getRefreshInterval(), jwt.getMinRefreshInterval());
+    }
+
+    @Bean
+    public TokenValidator tokenValidator(AuthClientProperties properties,
+                                         @Qualifier(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME) RestTemplate restTemplate,
+                                         ObjectProvider<TokenValidationCache> validationCache,
+                                         ObjectProvider<JwtVerifier> jwtVerifier,
+                                         ObjectProvider<TokenValidationBatcher> batcher,
+                                         @Qualifier(AuthClientValidationConfiguration.VALIDATION_CIRCUIT_BREAKER_BEAN_NAME) ObjectProvider<CircuitBreaker> circuitBreaker,
+                                         AuthClientMetrics metrics,
+                                         ObjectProvider<RejectedTokenCache> rejectedTokens,
+                                         ObjectProvider<SharedValidationStore> sharedStore) {
+        return new TokenValidator(properties, restTemplate, validationCache.getIfAvailable(),
+                jwtVerifier.getIfAvailable(), batcher.getIfAvailable(), circuitBreaker.getIfAvailable(), metrics,
+                rejectedTokens.getIfAvailable(), sharedStore.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnExpression("!${auth.client.filter.enabled:false} or ${auth.client.filter.keep-aspect:false}")
+    public SecurityAspect securityAspect(TokenValidator tokenValidator, AuthClientMetrics metrics) {
+        return new SecurityAspect(tokenValidator, metrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.client.filter", name = "enabled")
+    public FilterRegistrationBean<AuthorizationFilter> authorizationFilter(AuthClientProperties properties, TokenValidator tokenValidator,
+                                                                           AuthClientMetrics metrics,
+                                                                           @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        FilterRegistrationBean<AuthorizationFilter> registration = new FilterRegistrationBean<>(
+                new AuthorizationFilter(tokenValidator, metrics, properties.getFilter(), handlerMapping));
+        registration.setOrder(properties.getFilter().getOrder());
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.client.deadline", name = "enabled")
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(AuthClientProperties properties) {
+        FilterRegistrationBean<RequestDeadlineFilter> registration =
+                new FilterRegistrationBean<>(new RequestDeadlineFilter(properties.getDeadline()));
+        // Trước mọi filter có thể gọi dịch vụ xác thực (kể cả AuthorizationFilter).
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
     @Bean
-    public SecurityAspect securityAspect(AuthClientProperties properties) {
-        return new SecurityAspect(properties);
+    public AuthClient authClient(AuthClientProperties properties,
+                                 @Qualifier(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME) RestTemplate restTemplate,
+                                 @Qualifier(AuthClientAsyncConfiguration.ASYNC_EXECUTOR_BEAN_NAME) Executor asyncExecutor,
+                                 @Qualifier(AuthClientValidationConfiguration.ADMIN_CIRCUIT_BREAKER_BEAN_NAME) ObjectProvider<CircuitBreaker> circuitBreaker,
+                                 AuthClientMetrics metrics,
+                                 ObjectProvider<SharedValidationStore> sharedStore,
+                                 ObjectProvider<InvalidationBus> invalidationBus) {
+        return new AuthClient(properties, restTemplate, asyncExecutor, circuitBreaker.getIfAvailable(), metrics,
+                sharedStore.getIfAvailable(), invalidationBus.getIfAvailable());
     }
 
     @Bean
-    public AuthClient authClient(AuthClientProperties properties) {
-        return new AuthClient(properties);
+    @ConditionalOnProperty(prefix = "auth.client.warm-up", name = "enabled")
+    public AuthClientWarmUp authClientWarmUp(AuthClientProperties properties, AuthClient authClient, TokenValidator tokenValidator,
+                                             @Qualifier(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME) RestTemplate restTemplate,
+                                             @Qualifier(AuthClientAsyncConfiguration.ASYNC_EXECUTOR_BEAN_NAME) Executor asyncExecutor) {
+        return new AuthClientWarmUp(properties, authClient, tokenValidator, restTemplate, asyncExecutor);
     }
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(new AuthTokenArgumentResolver());
+        resolvers.add(new ValidatedUserArgumentResolver(tokenValidator.getObject()));
     }
-}
\ No newline at end of file
+}
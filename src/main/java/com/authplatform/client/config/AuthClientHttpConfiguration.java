@@ -0,0 +1,198 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.metrics.ResponseStatusInterceptor;
+import com.authplatform.client.resilience.AdaptiveConcurrencyLimiter;
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.resilience.EndpointGroup;
+import com.authplatform.client.resilience.HedgingPolicy;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tạo HTTP client dùng chung cho mọi lời gọi đến dịch vụ xác thực, theo {@code auth.client.http.transport}:
+ * Apache HttpClient có connection pool (mặc định), hoặc HttpClient của JDK với HTTP/2.
+ * Mọi lời gọi đi qua {@link ResponseStatusInterceptor} (HTTP status cho metrics) và {@link AdmissionControlInterceptor}
+ * (deadline của request, giới hạn lời gọi đồng thời),
+ * và được chia cho các {@code auth.client.load-balancer.base-urls} nếu có ({@link LoadBalancingClientHttpRequestFactory}).
+ * Ứng dụng có thể thay thế bằng cách tự khai báo bean {@code authClientRestTemplate}
+ * (hoặc chỉ bean {@code authClientHttpClient}/{@code authClientJdkHttpClient}).
+ */
+@Configuration(proxyBeanMethods = false)
+public class AuthClientHttpConfiguration {
+
+    public static final String REST_TEMPLATE_BEAN_NAME = "authClientRestTemplate";
+    public static final String HTTP_CLIENT_BEAN_NAME = "authClientHttpClient";
+    public static final String JDK_HTTP_CLIENT_BEAN_NAME = "authClientJdkHttpClient";
+    public static final String HEDGING_EXECUTOR_BEAN_NAME = "authClientHedgingExecutor";
+
+    /**
+     * Thread chạy các lời gọi có thể được gửi lại (mỗi lời gọi như vậy chiếm tối đa hai thread trong khi
+     * thread gọi chờ), tối đa {@code auth.client.hedging.max-threads}. Không có hàng đợi: khi hết thread,
+     * {@link LoadBalancingClientHttpRequestFactory} gửi lời gọi trên thread gọi và không gửi lại.
+     */
+    @Bean(name = HEDGING_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "auth.client.hedging", name = "enabled")
+    public ExecutorService authClientHedgingExecutor(AuthClientProperties properties) {
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Math.max(2, properties.getHedging().getMaxThreads()), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread thread = new Thread(r, "auth-client-hedging-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    // Mọi giá trị khác "jdk" (HTTP_COMPONENTS, http-components, hoặc không đặt): @ConditionalOnProperty không so khớp
+    // được cả hai cách viết của tên enum.
+    @ConditionalOnExpression("!'${auth.client.http.transport:}'.equalsIgnoreCase('jdk')")
+    public static class HttpComponentsTransport {
+
+        @Bean(name = HTTP_CLIENT_BEAN_NAME)
+        @ConditionalOnMissingBean(name = HTTP_CLIENT_BEAN_NAME)
+        public CloseableHttpClient authClientHttpClient(AuthClientProperties properties) {
+            AuthClientProperties.Http http = properties.getHttp();
+            PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(http.getMaxConnectionsTotal())
+                    .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.of(http.getConnectTimeout()))
+                            .setSocketTimeout(Timeout.of(http.getReadTimeout()))
+                            .build())
+                    .build();
+            RequestConfig requestConfig = RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.of(http.getConnectionRequestTimeout()))
+                    .setResponseTimeout(Timeout.of(http.getReadTimeout()))
+                    .build();
+            TimeValue keepAlive = TimeValue.of(http.getKeepAlive());
+            HttpClientBuilder builder = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(requestConfig)
+                    .setKeepAliveStrategy((response, context) -> keepAlive)
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.of(http.getIdleEvictionTimeout()));
+            if (!http.isCompression()) {
+                // Apache HttpClient tự gửi Accept-Encoding và giải nén gzip/deflate; chỉ cần tắt khi không muốn.
+                builder.disableContentCompression();
+            }
+            return builder.build();
+        }
+
+        @Bean(name = REST_TEMPLATE_BEAN_NAME)
+        @ConditionalOnMissingBean(name = REST_TEMPLATE_BEAN_NAME)
+        public RestTemplate authClientRestTemplate(AuthClientProperties properties,
+                                                   @Qualifier(HTTP_CLIENT_BEAN_NAME) CloseableHttpClient httpClient,
+                                                   ObjectProvider<AdaptiveConcurrencyLimiter> limiter,
+                                                   @Qualifier(HEDGING_EXECUTOR_BEAN_NAME) ObjectProvider<ExecutorService> hedgingExecutor) {
+            HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+            RequestConfig defaults = httpClient instanceof Configurable && ((Configurable) httpClient).getConfig() != null
+                    ? ((Configurable) httpClient).getConfig()
+                    : RequestConfig.DEFAULT;
+            requestFactory.setHttpContextFactory((method, uri) -> deadlineContext(defaults));
+            RestTemplate restTemplate = new RestTemplate(loadBalanced(properties, requestFactory, limiter, hedgingExecutor));
+            restTemplate.getInterceptors().add(new ResponseStatusInterceptor());
+            restTemplate.getInterceptors().add(admissionControl(properties, limiter));
+            return restTemplate;
+        }
+
+        /**
+         * Context riêng cho request khi thread có {@link Deadline}: timeout chờ connection và chờ response
+         * không vượt quá thời gian còn lại. Không có deadline thì dùng cấu hình mặc định của client.
+         */
+        private static HttpContext deadlineContext(RequestConfig defaults) {
+            Deadline deadline = Deadline.current();
+            if (deadline == null) {
+                return null;
+            }
+            long remainingMillis = Math.max(1, deadline.remaining().toMillis());
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(RequestConfig.copy(defaults)
+                    .setConnectionRequestTimeout(min(defaults.getConnectionRequestTimeout(), remainingMillis))
+                    .setResponseTimeout(min(defaults.getResponseTimeout(), remainingMillis))
+                    .build());
+            return context;
+        }
+
+        private static Timeout min(Timeout configured, long remainingMillis) {
+            return configured == null || configured.isDisabled() || configured.toMilliseconds() > remainingMillis
+                    ? Timeout.ofMilliseconds(remainingMillis)
+                    : configured;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "auth.client.http", name = "transport", havingValue = "jdk")
+    public static class JdkTransport {
+
+        @Bean(name = JDK_HTTP_CLIENT_BEAN_NAME)
+        @ConditionalOnMissingBean(name = JDK_HTTP_CLIENT_BEAN_NAME)
+        public HttpClient authClientJdkHttpClient(AuthClientProperties properties) {
+            return HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(properties.getHttp().getConnectTimeout())
+                    .build();
+        }
+
+        @Bean(name = REST_TEMPLATE_BEAN_NAME)
+        @ConditionalOnMissingBean(name = REST_TEMPLATE_BEAN_NAME)
+        public RestTemplate authClientRestTemplate(AuthClientProperties properties,
+                                                   @Qualifier(JDK_HTTP_CLIENT_BEAN_NAME) HttpClient httpClient,
+                                                   ObjectProvider<AdaptiveConcurrencyLimiter> limiter,
+                                                   @Qualifier(HEDGING_EXECUTOR_BEAN_NAME) ObjectProvider<ExecutorService> hedgingExecutor) {
+            RestTemplate restTemplate = new RestTemplate(loadBalanced(properties,
+                    new DeadlineJdkClientHttpRequestFactory(httpClient, properties.getHttp().getReadTimeout()), limiter, hedgingExecutor));
+            restTemplate.getInterceptors().add(new ResponseStatusInterceptor());
+            restTemplate.getInterceptors().add(admissionControl(properties, limiter));
+            if (properties.getHttp().isCompression()) {
+                restTemplate.getInterceptors().add(new GzipResponseInterceptor());
+            }
+            return restTemplate;
+        }
+    }
+
+    private static AdmissionControlInterceptor admissionControl(AuthClientProperties properties,
+                                                                ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        AuthClientProperties.Deadline deadline = properties.getDeadline();
+        return new AdmissionControlInterceptor(limiter.getIfAvailable(), deadline.isPropagate() ? deadline.getHeader() : null);
+    }
+
+    private static ClientHttpRequestFactory loadBalanced(AuthClientProperties properties, ClientHttpRequestFactory requestFactory,
+                                                         ObjectProvider<AdaptiveConcurrencyLimiter> limiter,
+                                                         ObjectProvider<ExecutorService> hedgingExecutor) {
+        AuthClientProperties.LoadBalancer loadBalancer = properties.getLoadBalancer();
+        if (loadBalancer.getBaseUrls().isEmpty()) {
+            return requestFactory;
+        }
+        ExecutorService executor = hedgingExecutor.getIfAvailable();
+        HedgingPolicy hedging = executor != null ? new HedgingPolicy(properties.getHedging()) : null;
+        return new LoadBalancingClientHttpRequestFactory(requestFactory, properties.getBaseUrl(),
+                new EndpointGroup(loadBalancer), hedging, executor, limiter.getIfAvailable());
+    }
+}
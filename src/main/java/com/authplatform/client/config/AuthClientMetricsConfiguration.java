@@ -0,0 +1,36 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.metrics.AuthClientMetrics;
+import com.authplatform.client.metrics.MicrometerAuthClientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics của auth client: dùng Micrometer khi có {@link MeterRegistry} trong context,
+ * ngược lại không ghi nhận gì.
+ */
+@Configuration
+public class AuthClientMetricsConfiguration {
+
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuthClientMetrics authClientMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null ? new MicrometerAuthClientMetrics(registry) : AuthClientMetrics.NOOP;
+        }
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthClientMetrics authClientMetrics() {
+        return AuthClientMetrics.NOOP;
+    }
+}
@@ -1,6 +1,15 @@
 package com.authplatform.client.config;
 
+import com.authplatform.client.cache.EvictionPolicy;
+import com.authplatform.client.service.AuthOperation;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "auth.client")
 public class AuthClientProperties {
@@ -9,7 +18,51 @@ public class AuthClientProperties {
 
     private String apiKey;
 
+    private final ValidationCache validationCache = new ValidationCache();
+
+    private final Jwt jwt = new Jwt();
+
+    private final Http http = new Http();
+
+    private final BatchValidation batchValidation = new BatchValidation();
+
+    private final Async async = new Async();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private final Bulk bulk = new Bulk();
+
+    private final WarmUp warmUp = new WarmUp();
+
+    private final RoleCatalog roleCatalog = new RoleCatalog();
+
+    private final ProfileCache profileCache = new ProfileCache();
+
+    private final Admin admin = new Admin();
+
+    private final Filter filter = new Filter();
+
+    private final NegativeCache negativeCache = new NegativeCache();
+
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private final Deadline deadline = new Deadline();
+
+    private final SharedCache sharedCache = new SharedCache();
+
+    private final LoadBalancer loadBalancer = new LoadBalancer();
+
+    private final Hedging hedging = new Hedging();
+
+    private final Retry retry = new Retry();
+
+    /**
+     * Khi {@code base-url} để trống nhưng có {@code load-balancer.base-urls}, instance đầu tiên được dùng làm địa chỉ logic.
+     */
     public String getBaseUrl() {
+        if ((baseUrl == null || baseUrl.isEmpty()) && !loadBalancer.getBaseUrls().isEmpty()) {
+            return loadBalancer.getBaseUrls().get(0);
+        }
         return baseUrl;
     }
 
@@ -17,6 +70,82 @@ public class AuthClientProperties {
         return apiKey;
     }
 
+    public ValidationCache getValidationCache() {
+        return validationCache;
+    }
+
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public BatchValidation getBatchValidation() {
+        return batchValidation;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public WarmUp getWarmUp() {
+        return warmUp;
+    }
+
+    public RoleCatalog getRoleCatalog() {
+        return roleCatalog;
+    }
+
+    public ProfileCache getProfileCache() {
+        return profileCache;
+    }
+
+    public Admin getAdmin() {
+        return admin;
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public NegativeCache getNegativeCache() {
+        return negativeCache;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    public SharedCache getSharedCache() {
+        return sharedCache;
+    }
+
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
     }
@@ -24,4 +153,1303 @@ public class AuthClientProperties {
     public void setApiKey(String apiKey) {
         this.apiKey = apiKey;
     }
+
+    /**
+     * Cấu hình cache cục bộ cho kết quả /validate-token ({@code auth.client.validation-cache.*}).
+     */
+    public static class ValidationCache {
+
+        private boolean enabled = false;
+
+        private int maxSize = 10_000;
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public EvictionPolicy getEvictionPolicy() {
+            return evictionPolicy;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+            this.evictionPolicy = evictionPolicy;
+        }
+    }
+
+    /**
+     * Cấu hình xác thực JWT ngay trong ứng dụng bằng bộ khóa công khai (JWKS) của dịch vụ xác thực
+     * ({@code auth.client.jwt.*}). Khi tắt, mọi token đều được xác thực qua /validate-token.
+     */
+    public static class Jwt {
+
+        private boolean enabled = false;
+
+        /** URL của JWKS. Mặc định: {@code {base-url}/api/p/{api-key}/.well-known/jwks.json}. */
+        private String jwksUri;
+
+        private Duration refreshInterval = Duration.ofMinutes(10);
+
+        /** Khoảng cách tối thiểu giữa hai lần tải lại JWKS khi gặp key id lạ. */
+        private Duration minRefreshInterval = Duration.ofSeconds(30);
+
+        private Duration clockSkew = Duration.ofSeconds(30);
+
+        /** Claim {@code iss} của token phải khớp với giá trị này; bắt buộc khi bật. */
+        private String issuer;
+
+        /** Giá trị phải có trong claim {@code aud} của token. Mặc định: {@code api-key}. */
+        private String audience;
+
+        private String audienceClaim = "aud";
+
+        private String userIdClaim = "userId";
+
+        private String emailClaim = "email";
+
+        private String rolesClaim = "roles";
+
+        private String maxRoleLevelClaim = "maxRoleLevel";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getJwksUri() {
+            return jwksUri;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public Duration getMinRefreshInterval() {
+            return minRefreshInterval;
+        }
+
+        public Duration getClockSkew() {
+            return clockSkew;
+        }
+
+        public String getIssuer() {
+            return issuer;
+        }
+
+        public String getAudience() {
+            return audience;
+        }
+
+        public String getAudienceClaim() {
+            return audienceClaim;
+        }
+
+        public String getUserIdClaim() {
+            return userIdClaim;
+        }
+
+        public String getEmailClaim() {
+            return emailClaim;
+        }
+
+        public String getRolesClaim() {
+            return rolesClaim;
+        }
+
+        public String getMaxRoleLevelClaim() {
+            return maxRoleLevelClaim;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setJwksUri(String jwksUri) {
+            this.jwksUri = jwksUri;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public void setMinRefreshInterval(Duration minRefreshInterval) {
+            this.minRefreshInterval = minRefreshInterval;
+        }
+
+        public void setClockSkew(Duration clockSkew) {
+            this.clockSkew = clockSkew;
+        }
+
+        public void setIssuer(String issuer) {
+            this.issuer = issuer;
+        }
+
+        public void setAudience(String audience) {
+            this.audience = audience;
+        }
+
+        public void setAudienceClaim(String audienceClaim) {
+            this.audienceClaim = audienceClaim;
+        }
+
+        public void setUserIdClaim(String userIdClaim) {
+            this.userIdClaim = userIdClaim;
+        }
+
+        public void setEmailClaim(String emailClaim) {
+            this.emailClaim = emailClaim;
+        }
+
+        public void setRolesClaim(String rolesClaim) {
+            this.rolesClaim = rolesClaim;
+        }
+
+        public void setMaxRoleLevelClaim(String maxRoleLevelClaim) {
+            this.maxRoleLevelClaim = maxRoleLevelClaim;
+        }
+    }
+
+    /**
+     * Cấu hình connection pool HTTP dùng chung cho {@code AuthClient} và việc xác thực token
+     * ({@code auth.client.http.*}).
+     */
+    public static class Http {
+
+        /**
+         * HTTP client dùng để gọi dịch vụ xác thực.
+         */
+        public enum Transport {
+            /** Apache HttpClient 5, HTTP/1.1 với connection pool. */
+            HTTP_COMPONENTS,
+            /**
+             * {@code java.net.http.HttpClient} của JDK, ưu tiên HTTP/2 (ALPN với https, h2c với http):
+             * nhiều lời gọi đồng thời dùng chung một vài kết nối. Các thuộc tính về pool không áp dụng.
+             */
+            JDK
+        }
+
+        private Transport transport = Transport.HTTP_COMPONENTS;
+
+        /** Gửi {@code Accept-Encoding: gzip} và tự giải nén response (ví dụ danh sách EndUser, vai trò). */
+        private boolean compression = true;
+
+        private int maxConnectionsTotal = 200;
+
+        private int maxConnectionsPerRoute = 50;
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        private Duration readTimeout = Duration.ofSeconds(5);
+
+        /** Thời gian tối đa chờ lấy một connection rảnh từ pool. */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+        /** Thời gian giữ một connection keep-alive để dùng lại cho các lời gọi sau. */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /** Connection rảnh lâu hơn khoảng này sẽ bị đóng. */
+        private Duration idleEvictionTimeout = Duration.ofSeconds(60);
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        public boolean isCompression() {
+            return compression;
+        }
+
+        public int getMaxConnectionsTotal() {
+            return maxConnectionsTotal;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public Duration getConnectionRequestTimeout() {
+            return connectionRequestTimeout;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public Duration getIdleEvictionTimeout() {
+            return idleEvictionTimeout;
+        }
+
+        public void setTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public void setCompression(boolean compression) {
+            this.compression = compression;
+        }
+
+        public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+            this.maxConnectionsTotal = maxConnectionsTotal;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public void setIdleEvictionTimeout(Duration idleEvictionTimeout) {
+            this.idleEvictionTimeout = idleEvictionTimeout;
+        }
+    }
+
+    /**
+     * Gom nhiều token cần xác thực thành một lời gọi batch ({@code auth.client.batch-validation.*}).
+     * Một batch được gửi khi đủ {@code max-batch-size} token hoặc khi token đầu tiên đã chờ {@code max-wait}.
+     */
+    public static class BatchValidation {
+
+        private boolean enabled = false;
+
+        /** Đường dẫn của API batch. Mặc định: {@code /api/p/{api-key}/auth/validate-tokens}. */
+        private String path;
+
+        private int maxBatchSize = 50;
+
+        /** Độ trễ tối đa mà một token phải chờ để được gom vào batch. */
+        private Duration maxWait = Duration.ofMillis(5);
+
+        /** Số batch tối đa được gửi song song. */
+        private int maxConcurrentBatches = 4;
+
+        /** Số token tối đa chờ được gom vào batch; khi đầy, token được xác thực riêng qua /validate-token. */
+        private int maxQueueSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public int getMaxConcurrentBatches() {
+            return maxConcurrentBatches;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+            this.maxConcurrentBatches = maxConcurrentBatches;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+    }
+
+    /**
+     * Executor chạy các phương thức {@code *Async} của {@code AuthClient} ({@code auth.client.async.*}).
+     */
+    public static class Async {
+
+        /** Dùng virtual thread khi chạy trên Java 21+; nếu không sẽ dùng thread pool cố định. */
+        private boolean virtualThreads = true;
+
+        /** Số thread của pool khi không dùng virtual thread. */
+        private int poolSize = 16;
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+    }
+
+    /**
+     * Circuit breaker cho các lời gọi đến dịch vụ xác thực ({@code auth.client.circuit-breaker.*}).
+     * Xác thực token và các lời gọi của {@code AuthClient} dùng hai breaker riêng với cùng cấu hình này.
+     */
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        /** Tỉ lệ lỗi (%) trong cửa sổ trượt khiến breaker mở. */
+        private int failureRateThreshold = 50;
+
+        /** Tỉ lệ lời gọi chậm (%) trong cửa sổ trượt khiến breaker mở. */
+        private int slowCallRateThreshold = 80;
+
+        /** Lời gọi lâu hơn khoảng này được tính là chậm. */
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+
+        /** Ngưỡng chậm cho breaker của {@code AuthClient} (quản trị, hồ sơ, đăng nhập), thường chậm hơn xác thực token. */
+        private Duration adminSlowCallDuration = Duration.ofSeconds(10);
+
+        private int slidingWindowSize = 50;
+
+        /** Số lời gọi tối thiểu trong cửa sổ trước khi tính tỉ lệ lỗi. */
+        private int minimumNumberOfCalls = 10;
+
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        /** Số lời gọi thử được phép khi breaker ở trạng thái HALF_OPEN. */
+        private int permittedCallsInHalfOpenState = 3;
+
+        /**
+         * Khi breaker đang mở (hoặc lời gọi /validate-token thất bại vì dịch vụ gặp sự cố), vẫn chấp nhận
+         * kết quả xác thực đã hết TTL trong cache nếu nó hết hạn chưa quá khoảng này. Mặc định 0: tắt.
+         */
+        private Duration staleValidationGracePeriod = Duration.ZERO;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public int getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public Duration getAdminSlowCallDuration() {
+            return adminSlowCallDuration;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public Duration getStaleValidationGracePeriod() {
+            return staleValidationGracePeriod;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public void setAdminSlowCallDuration(Duration adminSlowCallDuration) {
+            this.adminSlowCallDuration = adminSlowCallDuration;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+
+        public void setStaleValidationGracePeriod(Duration staleValidationGracePeriod) {
+            this.staleValidationGracePeriod = staleValidationGracePeriod;
+        }
+    }
+
+    /**
+     * Các thao tác hàng loạt của {@code AuthClient} ({@code auth.client.bulk.*}).
+     */
+    public static class Bulk {
+
+        /**
+         * Số lời gọi chạy song song tối đa trong một thao tác hàng loạt.
+         * Nên nhỏ hơn {@code auth.client.http.max-connections-per-route}.
+         */
+        private int concurrency = 16;
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    /**
+     * Khởi động nóng khi ứng dụng start ({@code auth.client.warm-up.*}).
+     */
+    public static class WarmUp {
+
+        private boolean enabled = false;
+
+        /** Số kết nối HTTP được mở sẵn đến {@code base-url}. */
+        private int connections = 4;
+
+        /** Gửi một lần xác thực token giả để nạp trước các class và code path của việc xác thực. */
+        private boolean validateDummyToken = true;
+
+        /** Dừng khởi động ứng dụng nếu warm-up lỗi; mặc định chỉ ghi log cảnh báo. */
+        private boolean failOnError = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public boolean isValidateDummyToken() {
+            return validateDummyToken;
+        }
+
+        public boolean isFailOnError() {
+            return failOnError;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+
+        public void setValidateDummyToken(boolean validateDummyToken) {
+            this.validateDummyToken = validateDummyToken;
+        }
+
+        public void setFailOnError(boolean failOnError) {
+            this.failOnError = failOnError;
+        }
+    }
+
+    /**
+     * Bản sao cục bộ danh sách vai trò của project ({@code auth.client.role-catalog.*}).
+     */
+    public static class RoleCatalog {
+
+        /**
+         * Mỗi lần đọc vẫn gọi server bằng token của người gọi (có {@code If-None-Match}); catalog chỉ giúp server
+         * trả về 304 thay vì toàn bộ danh sách.
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Cache cục bộ cho {@code AuthClient.getMyProfile} ({@code auth.client.profile-cache.*}).
+     */
+    public static class ProfileCache {
+
+        private boolean enabled = false;
+
+        private int maxSize = 10_000;
+
+        /** Nên ngắn: thay đổi không đi qua {@code AuthClient} chỉ được thấy sau khi hết TTL. */
+        private Duration ttl = Duration.ofSeconds(10);
+
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public EvictionPolicy getEvictionPolicy() {
+            return evictionPolicy;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+            this.evictionPolicy = evictionPolicy;
+        }
+    }
+
+    /**
+     * Tài khoản quản trị cho các phương thức quản trị không nhận token của {@code AuthClient}
+     * ({@code auth.client.admin.*}). Chỉ bật khi có {@code email}.
+     */
+    public static class Admin {
+
+        private String email;
+
+        private String password;
+
+        /** Đăng nhập lại ở background khi token còn hạn ít hơn khoảng này. */
+        private Duration renewBefore = Duration.ofMinutes(1);
+
+        /** Thời gian sống giả định khi access token không phải JWT có {@code exp}. */
+        private Duration tokenLifetime = Duration.ofMinutes(15);
+
+        /** Khoảng chờ trước khi thử lại khi làm mới ở background thất bại. */
+        private Duration retryInterval = Duration.ofSeconds(5);
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public Duration getRenewBefore() {
+            return renewBefore;
+        }
+
+        public Duration getTokenLifetime() {
+            return tokenLifetime;
+        }
+
+        public Duration getRetryInterval() {
+            return retryInterval;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public void setRenewBefore(Duration renewBefore) {
+            this.renewBefore = renewBefore;
+        }
+
+        public void setTokenLifetime(Duration tokenLifetime) {
+            this.tokenLifetime = tokenLifetime;
+        }
+
+        public void setRetryInterval(Duration retryInterval) {
+            this.retryInterval = retryInterval;
+        }
+    }
+
+    /**
+     * Thực thi phân quyền bằng một servlet filter thay cho {@code SecurityAspect} ({@code auth.client.filter.*}).
+     */
+    public static class Filter {
+
+        private boolean enabled = false;
+
+        /** Đọc {@code @RequiresProjectRole}/{@code @RequiresProjectLevel} trên handler method của controller. */
+        private boolean annotations = true;
+
+        /**
+         * Vẫn đăng ký {@code SecurityAspect}, để kiểm tra annotation trên các bean không phải controller.
+         * Mặc định tắt: filter đã kiểm tra annotation trên handler, nên các bean không cần proxy AOP.
+         */
+        private boolean keepAspect = false;
+
+        /** Thứ tự của filter trong chuỗi servlet filter. */
+        private int order = Ordered.HIGHEST_PRECEDENCE + 100;
+
+        /** Quy tắc theo URL, xét theo thứ tự khai báo; quy tắc khớp đầu tiên được áp dụng. */
+        private List<Rule> rules = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public boolean isAnnotations() {
+            return annotations;
+        }
+
+        public boolean isKeepAspect() {
+            return keepAspect;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public List<Rule> getRules() {
+            return rules;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setAnnotations(boolean annotations) {
+            this.annotations = annotations;
+        }
+
+        public void setKeepAspect(boolean keepAspect) {
+            this.keepAspect = keepAspect;
+        }
+
+        public void setOrder(int order) {
+            this.order = order;
+        }
+
+        public void setRules(List<Rule> rules) {
+            this.rules = rules;
+        }
+
+        /**
+         * Một quy tắc theo URL. Không có {@code roles}, {@code level} và {@code permit-all}
+         * nghĩa là chỉ cần token hợp lệ.
+         */
+        public static class Rule {
+
+            /** Pattern đường dẫn (không gồm context path), cú pháp của {@code PathPattern}, ví dụ {@code /api/admin/**}. */
+            private String pattern;
+
+            /** Chỉ áp dụng cho các HTTP method này; rỗng là mọi method. */
+            private List<String> methods = new ArrayList<>();
+
+            /** Cần có ít nhất một trong các vai trò này. */
+            private List<String> roles = new ArrayList<>();
+
+            /** Cấp bậc tối thiểu. */
+            private Integer level;
+
+            /** Cho qua không cần token (annotation trên handler, nếu có, vẫn được kiểm tra). */
+            private boolean permitAll = false;
+
+            public String getPattern() {
+                return pattern;
+            }
+
+            public List<String> getMethods() {
+                return methods;
+            }
+
+            public List<String> getRoles() {
+                return roles;
+            }
+
+            public Integer getLevel() {
+                return level;
+            }
+
+            public boolean isPermitAll() {
+                return permitAll;
+            }
+
+            public void setPattern(String pattern) {
+                this.pattern = pattern;
+            }
+
+            public void setMethods(List<String> methods) {
+                this.methods = methods;
+            }
+
+            public void setRoles(List<String> roles) {
+                this.roles = roles;
+            }
+
+            public void setLevel(Integer level) {
+                this.level = level;
+            }
+
+            public void setPermitAll(boolean permitAll) {
+                this.permitAll = permitAll;
+            }
+        }
+    }
+
+    /**
+     * Ghi nhớ các token vừa bị từ chối để từ chối lại ngay, không gọi dịch vụ xác thực
+     * ({@code auth.client.negative-cache.*}).
+     */
+    public static class NegativeCache {
+
+        private boolean enabled = true;
+
+        private int maxSize = 10_000;
+
+        /** Ngắn, vì token bị từ chối do lệch đồng hồ ({@code nbf}) có thể hợp lệ sau đó. */
+        private Duration ttl = Duration.ofMinutes(1);
+
+        /**
+         * Số token không hợp lệ tối đa từ một địa chỉ client trong {@code failure-window}; vượt quá thì
+         * các token khác từ địa chỉ đó bị từ chối mà không gọi dịch vụ xác thực. 0 là tắt.
+         * Địa chỉ là {@code request.getRemoteAddr()}; sau proxy cần bật {@code server.forward-headers-strategy},
+         * nếu không mọi client bị tính chung là địa chỉ của proxy.
+         */
+        private int maxFailuresPerClient = 0;
+
+        private Duration failureWindow = Duration.ofMinutes(1);
+
+        /** Số địa chỉ client được theo dõi tối đa. */
+        private int maxTrackedClients = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public int getMaxFailuresPerClient() {
+            return maxFailuresPerClient;
+        }
+
+        public Duration getFailureWindow() {
+            return failureWindow;
+        }
+
+        public int getMaxTrackedClients() {
+            return maxTrackedClients;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public void setMaxFailuresPerClient(int maxFailuresPerClient) {
+            this.maxFailuresPerClient = maxFailuresPerClient;
+        }
+
+        public void setFailureWindow(Duration failureWindow) {
+            this.failureWindow = failureWindow;
+        }
+
+        public void setMaxTrackedClients(int maxTrackedClients) {
+            this.maxTrackedClients = maxTrackedClients;
+        }
+    }
+
+    /**
+     * Giới hạn số lời gọi đồng thời đến dịch vụ xác thực, tự điều chỉnh theo AIMD
+     * ({@code auth.client.concurrency-limit.*}).
+     */
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = false;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 2;
+
+        private int maxLimit = 200;
+
+        /** Lời gọi chậm hơn mức này được coi là dấu hiệu quá tải: giới hạn bị giảm như khi lỗi. */
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+
+        /** Hệ số nhân khi giảm giới hạn (0 < backoff-ratio < 1). */
+        private double backoffRatio = 0.9;
+
+        /** Số lời gọi được chờ khi đã đủ giới hạn; vượt quá thì bị từ chối ngay. */
+        private int maxQueueSize = 50;
+
+        /** Thời gian chờ tối đa trong hàng đợi (không vượt quá deadline của request). */
+        private Duration maxWait = Duration.ofMillis(100);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * Deadline của request đến, dùng làm timeout cho các lời gọi đến dịch vụ xác thực
+     * ({@code auth.client.deadline.*}).
+     */
+    public static class Deadline {
+
+        private boolean enabled = false;
+
+        /** Header chứa thời gian còn lại của request (ví dụ {@code 250} là mili giây, hoặc {@code 2s}). */
+        private String header = "X-Request-Timeout";
+
+        /** Thời gian dành cho request khi không có header; không đặt thì request không có deadline. */
+        private Duration defaultBudget;
+
+        /** Gửi thời gian còn lại (mili giây) trong cùng header đến dịch vụ xác thực. */
+        private boolean propagate = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        public Duration getDefaultBudget() {
+            return defaultBudget;
+        }
+
+        public boolean isPropagate() {
+            return propagate;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setHeader(String header) {
+            this.header = header;
+        }
+
+        public void setDefaultBudget(Duration defaultBudget) {
+            this.defaultBudget = defaultBudget;
+        }
+
+        public void setPropagate(boolean propagate) {
+            this.propagate = propagate;
+        }
+    }
+
+    /**
+     * Cache cấp hai dùng chung giữa các instance ({@code auth.client.shared-cache.*}).
+     * Bật bằng cách khai báo một bean {@link com.authplatform.client.cache.SharedValidationStore};
+     * sự kiện xóa theo EndUser đi qua bean {@link com.authplatform.client.cache.InvalidationBus}.
+     */
+    public static class SharedCache {
+
+        /** Thời gian sống của một kết quả xác thực trong cache dùng chung. */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Nhiều instance của dịch vụ xác thực ({@code auth.client.load-balancer.*}). Khi có {@code base-urls},
+     * {@code base-url} chỉ còn là địa chỉ logic: mọi lời gọi đến {@code base-url} được gửi đến một trong các
+     * {@code base-urls}, chọn theo power-of-two-choices trên số request đang chờ.
+     */
+    public static class LoadBalancer {
+
+        private List<String> baseUrls = new ArrayList<>();
+
+        /** Số lỗi liên tiếp (lỗi kết nối, timeout hoặc 5xx) để tạm loại một instance. */
+        private int failureThreshold = 3;
+
+        /** Thời gian một instance bị loại; lỗi đầu tiên sau khi quay lại sẽ loại nó thêm một lần nữa. */
+        private Duration ejectionDuration = Duration.ofSeconds(30);
+
+        public List<String> getBaseUrls() {
+            return baseUrls;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public Duration getEjectionDuration() {
+            return ejectionDuration;
+        }
+
+        public void setBaseUrls(List<String> baseUrls) {
+            this.baseUrls = baseUrls;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public void setEjectionDuration(Duration ejectionDuration) {
+            this.ejectionDuration = ejectionDuration;
+        }
+    }
+
+    /**
+     * Gửi lại lời gọi idempotent đến instance khác khi response đến chậm ({@code auth.client.hedging.*}).
+     * Chỉ áp dụng cho {@code authClientRestTemplate} khi có ít nhất hai {@code load-balancer.base-urls}.
+     */
+    public static class Hedging {
+
+        private boolean enabled = false;
+
+        /** Gửi lại khi chưa có response sau phân vị này của thời gian phản hồi đã quan sát (theo từng loại lời gọi). */
+        private double percentile = 0.95;
+
+        /** Thời gian chờ tối thiểu trước khi gửi lại. */
+        private Duration minDelay = Duration.ofMillis(5);
+
+        /** Số mẫu cần có của một loại lời gọi trước khi bắt đầu gửi lại. */
+        private int minSamples = 100;
+
+        /** Số lần gửi lại tối đa, tính theo tỉ lệ số lời gọi gần đây, để không nhân đôi tải khi dịch vụ quá tải. */
+        private double maxRatio = 0.1;
+
+        /** Số thread tối đa chạy các lời gọi có thể được gửi lại; khi hết, lời gọi được gửi trên thread gọi và không gửi lại. */
+        private int maxThreads = 64;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public double getMaxRatio() {
+            return maxRatio;
+        }
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public void setMaxRatio(double maxRatio) {
+            this.maxRatio = maxRatio;
+        }
+
+        public void setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+    }
+
+    /**
+     * Thử lại các lời gọi của {@code AuthClient} khi gặp lỗi tạm thời ({@code auth.client.retry.*}).
+     * Mặc định chỉ thử lại các lời gọi idempotent ({@link AuthOperation#isIdempotent()}).
+     */
+    public static class Retry {
+
+        /** Tắt mặc định, để nâng cấp không làm thay đổi số lời gọi gửi đến dịch vụ xác thực. */
+        private boolean enabled = false;
+
+        /** Số lần gửi tối đa của một lời gọi, tính cả lần đầu. */
+        private int maxAttempts = 3;
+
+        /** Mức chờ trước lần thử lại đầu tiên; thời gian chờ thực tế là ngẫu nhiên từ 0 đến mức này. */
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        /** Mức chờ tối đa. */
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        /** Hệ số nhân của mức chờ sau mỗi lần thử lại. */
+        private double multiplier = 2.0;
+
+        /** Số lần thử lại tối đa, tính theo tỉ lệ số lời gọi gần đây, để không gây bão thử lại khi dịch vụ sự cố. */
+        private double budgetRatio = 0.1;
+
+        /** Số lần thử lại được tích lũy tối đa (cũng là số lần có thể thử lại ngay khi mới khởi động). */
+        private int budgetReserve = 10;
+
+        /**
+         * Cấu hình riêng của từng lời gọi. Khóa là tên hằng của {@link AuthOperation}, viết dạng kebab-case hoặc
+         * nguyên dạng ({@code auth.client.retry.operations.forgot-password.enabled} hay
+         * {@code auth.client.retry.operations.FORGOT_PASSWORD.enabled}), không phải tên thao tác của hằng đó.
+         */
+        private Map<AuthOperation, Operation> operations = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public int getBudgetReserve() {
+            return budgetReserve;
+        }
+
+        public Map<AuthOperation, Operation> getOperations() {
+            return operations;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public void setBudgetReserve(int budgetReserve) {
+            this.budgetReserve = budgetReserve;
+        }
+
+        public void setOperations(Map<AuthOperation, Operation> operations) {
+            this.operations = operations;
+        }
+
+        public static class Operation {
+
+            /** Thử lại lời gọi này hay không; không đặt thì theo {@link AuthOperation#isIdempotent()}. */
+            private Boolean enabled;
+
+            /** Số lần gửi tối đa của lời gọi này; không đặt thì dùng {@code max-attempts}. */
+            private Integer maxAttempts;
+
+            public Boolean getEnabled() {
+                return enabled;
+            }
+
+            public Integer getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setEnabled(Boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public void setMaxAttempts(Integer maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.cache.InvalidationBus;
+import com.authplatform.client.cache.LoopbackInvalidationBus;
+import com.authplatform.client.jwt.JwksKeyProvider;
+import com.authplatform.client.jwt.JwtVerifier;
+import com.authplatform.client.resilience.AdaptiveConcurrencyLimiter;
+import com.authplatform.client.resilience.CircuitBreaker;
+import com.authplatform.client.security.RejectedTokenCache;
+import com.authplatform.client.security.TokenValidationCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Các bean xác thực token dùng chung cho cả ứng dụng servlet và WebFlux:
+ * cache kết quả xác thực, cache các token bị từ chối, circuit breaker và giới hạn lời gọi đồng thời
+ * của dịch vụ xác thực, và bộ xác thực JWT cục bộ.
+ * <p>
+ * Không phụ thuộc HTTP client nào: bean {@link JwksKeyProvider} (tải JWKS) được khai báo bởi cấu hình servlet
+ * (qua {@code authClientRestTemplate}) hoặc WebFlux (qua {@code authClientWebClient}).
+ */
+@Configuration(proxyBeanMethods = false)
+public class AuthClientValidationConfiguration {
+
+    public static final String VALIDATION_CIRCUIT_BREAKER_BEAN_NAME = "authValidationCircuitBreaker";
+    public static final String ADMIN_CIRCUIT_BREAKER_BEAN_NAME = "authAdminCircuitBreaker";
+    public static final String CONCURRENCY_LIMITER_BEAN_NAME = "authServiceConcurrencyLimiter";
+
+    /**
+     * Mặc định sự kiện xóa chỉ được giao trong instance này, để {@code lockEndUser} hay việc đổi vai trò vẫn xóa
+     * cache cục bộ ngay. Khai báo một bean {@link InvalidationBus} khác (ví dụ Redis pub/sub) để giao đến mọi instance.
+     */
+    @Bean
+    @ConditionalOnMissingBean(InvalidationBus.class)
+    public LoopbackInvalidationBus authClientInvalidationBus() {
+        return new LoopbackInvalidationBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.client.validation-cache", name = "enabled")
+    public TokenValidationCache tokenValidationCache(AuthClientProperties properties,
+                                                     ObjectProvider<InvalidationBus> invalidationBus) {
+        TokenValidationCache cache = new TokenValidationCache(properties.getValidationCache(),
+                properties.getCircuitBreaker().getStaleValidationGracePeriod());
+        // Nhận sự kiện xóa theo EndUser (khóa, đổi vai trò) từ mọi instance, kể cả instance này.
+        invalidationBus.ifAvailable(bus -> bus.subscribe(cache));
+        return cache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.client.negative-cache", name = "enabled", matchIfMissing = true)
+    public RejectedTokenCache rejectedTokenCache(AuthClientProperties properties) {
+        return new RejectedTokenCache(properties.getNegativeCache());
+    }
+
+    /**
+     * Breaker riêng cho xác thực token, để các lời gọi quản trị chậm hoặc lỗi không chặn việc xác thực request.
+     */
+    @Bean(name = VALIDATION_CIRCUIT_BREAKER_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "auth.client.circuit-breaker", name = "enabled", matchIfMissing = true)
+    public CircuitBreaker authValidationCircuitBreaker(AuthClientProperties properties) {
+        return new CircuitBreaker("auth-validation", properties.getCircuitBreaker());
+    }
+
+    @Bean(name = ADMIN_CIRCUIT_BREAKER_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "auth.client.circuit-breaker", name = "enabled", matchIfMissing = true)
+    public CircuitBreaker authAdminCircuitBreaker(AuthClientProperties properties) {
+        AuthClientProperties.CircuitBreaker config = properties.getCircuitBreaker();
+        return new CircuitBreaker("auth-admin", config, config.getAdminSlowCallDuration());
+    }
+
+    @Bean(name = CONCURRENCY_LIMITER_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "auth.client.concurrency-limit", name = "enabled")
+    public AdaptiveConcurrencyLimiter authServiceConcurrencyLimiter(AuthClientProperties properties) {
+        return new AdaptiveConcurrencyLimiter("auth-service", properties.getConcurrencyLimit());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.client.jwt", name = "enabled")
+    public JwtVerifier jwtVerifier(JwksKeyProvider jwksKeyProvider, AuthClientProperties properties) {
+        AuthClientProperties.Jwt jwt = properties.getJwt();
+        return new JwtVerifier(jwksKeyProvider, jwt, jwt.getAudience() != null ? jwt.getAudience() : properties.getApiKey());
+    }
+
+    static String jwksUri(AuthClientProperties properties) {
+        AuthClientProperties.Jwt jwt = properties.getJwt();
+        return jwt.getJwksUri() != null
+                ? jwt.getJwksUri()
+                : String.format("%s/api/p/%s/.well-known/jwks.json", properties.getBaseUrl(), properties.getApiKey());
+    }
+}
@@ -0,0 +1,116 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.security.TokenValidator;
+import com.authplatform.client.service.AuthClient;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Khởi động nóng auth client trước khi ứng dụng nhận traffic:
+ * resolve projectId, mở sẵn các kết nối đến {@code base-url}, xác thực thử một token giả
+ * và đăng nhập tài khoản quản trị (nếu có cấu hình {@code auth.client.admin.email}).
+ * <p>
+ * Chạy như một {@link ApplicationRunner}, nên Spring Boot chỉ chuyển readiness sang
+ * {@code ACCEPTING_TRAFFIC} sau khi warm-up kết thúc.
+ */
+public class AuthClientWarmUp implements ApplicationRunner {
+
+    private static final Log log = LogFactory.getLog(AuthClientWarmUp.class);
+
+    static final String DUMMY_TOKEN = "auth-client-warm-up";
+
+    private final AuthClientProperties properties;
+    private final AuthClient authClient;
+    private final TokenValidator tokenValidator;
+    private final RestTemplate restTemplate;
+    private final Executor executor;
+
+    public AuthClientWarmUp(AuthClientProperties properties, AuthClient authClient, TokenValidator tokenValidator,
+                            RestTemplate restTemplate, Executor executor) {
+        this.properties = properties;
+        this.authClient = authClient;
+        this.tokenValidator = tokenValidator;
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        try {
+            Long projectId = authClient.getProjectId();
+            int connections = prewarmConnections(properties.getWarmUp().getConnections());
+            if (properties.getWarmUp().isValidateDummyToken()) {
+                validateDummyToken();
+            }
+            String email = properties.getAdmin().getEmail();
+            if (email != null && !email.isEmpty()) {
+                // Đăng nhập tài khoản quản trị trước, để lời gọi quản trị đầu tiên không phải chờ.
+                authClient.getAdminToken();
+            }
+            log.info(String.format("Auth client warm-up finished in %d ms (projectId=%d, connections=%d)",
+                    (System.nanoTime() - start) / 1_000_000, projectId, connections));
+        } catch (RuntimeException e) {
+            if (properties.getWarmUp().isFailOnError()) {
+                throw e;
+            }
+            log.warn("Auth client warm-up failed, continuing startup: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gửi đồng thời {@code count} request HEAD đến {@code base-url} để pool mở sẵn tối đa {@code count} kết nối
+     * (bao gồm TLS handshake). Status của response không quan trọng.
+     *
+     * @return số request thành công
+     */
+    private int prewarmConnections(int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        URI uri = URI.create(properties.getBaseUrl());
+        List<CompletableFuture<Boolean>> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(CompletableFuture.supplyAsync(() -> openConnection(uri), executor));
+        }
+        int opened = 0;
+        for (CompletableFuture<Boolean> request : requests) {
+            if (request.join()) {
+                opened++;
+            }
+        }
+        return opened;
+    }
+
+    private boolean openConnection(URI uri) {
+        try {
+            ClientHttpResponse response = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.HEAD).execute();
+            response.close();
+            return true;
+        } catch (IOException e) {
+            log.debug("Could not pre-warm connection to " + uri, e);
+            return false;
+        }
+    }
+
+    private void validateDummyToken() {
+        try {
+            tokenValidator.validate(DUMMY_TOKEN);
+        } catch (RuntimeException expected) {
+            // Token giả luôn bị từ chối; mục đích chỉ là chạy qua toàn bộ code path xác thực.
+            log.debug("Dummy token rejected during warm-up: " + expected.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.resilience.Deadline;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link JdkClientHttpRequestFactory} với read timeout là {@code read-timeout} hoặc thời gian còn lại của
+ * {@link Deadline}, tùy cái nào ngắn hơn. Read timeout của factory JDK cố định cho mọi request, nên khi có
+ * deadline ngắn hơn, một factory mới (chỉ giữ tham chiếu đến HttpClient dùng chung) được tạo cho request đó.
+ */
+class DeadlineJdkClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final Duration readTimeout;
+    private final JdkClientHttpRequestFactory defaultFactory;
+
+    DeadlineJdkClientHttpRequestFactory(HttpClient httpClient, Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.executor = httpClient.executor().orElseGet(SimpleAsyncTaskExecutor::new);
+        this.readTimeout = readTimeout;
+        this.defaultFactory = newFactory(readTimeout);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return defaultFactory.createRequest(uri, httpMethod);
+        }
+        Duration remaining = deadline.remaining();
+        if (remaining.compareTo(readTimeout) >= 0) {
+            return defaultFactory.createRequest(uri, httpMethod);
+        }
+        return newFactory(remaining.isZero() ? Duration.ofMillis(1) : remaining).createRequest(uri, httpMethod);
+    }
+
+    private JdkClientHttpRequestFactory newFactory(Duration timeout) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient, executor);
+        factory.setReadTimeout(timeout);
+        return factory;
+    }
+}
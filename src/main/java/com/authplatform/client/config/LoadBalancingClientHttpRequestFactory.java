@@ -0,0 +1,325 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.resilience.AdaptiveConcurrencyLimiter;
+import com.authplatform.client.resilience.ConcurrencyLimitExceededException;
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.resilience.EndpointGroup;
+import com.authplatform.client.resilience.HedgingPolicy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Gửi các request đến {@code base-url} tới một instance của {@link EndpointGroup}.
+ * <p>
+ * Với {@link HedgingPolicy}, lời gọi idempotent được gửi trên {@code executor}: nếu chưa có response sau
+ * thời gian chờ của policy, một lời gọi thứ hai được gửi đến instance khác và response đến trước được dùng;
+ * response còn lại được đóng khi đến. Response 5xx chỉ được dùng khi lời gọi kia cũng thất bại. Thread gọi chỉ
+ * chờ kết quả. Khi {@code executor} đã hết thread, lời gọi được gửi trên thread gọi như khi không có hedging.
+ * <p>
+ * Factory này nằm dưới {@link AdmissionControlInterceptor}: suất của limiter mà interceptor giữ chỉ tính cho lời gọi
+ * đầu tiên. Lời gọi gửi thêm lấy suất riêng bằng {@link AdaptiveConcurrencyLimiter#tryAcquire()} và không được gửi
+ * nếu limiter đã đầy.
+ */
+class LoadBalancingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory delegate;
+    private final String baseUrl;
+    private final EndpointGroup endpoints;
+    private final HedgingPolicy hedging;
+    private final Executor executor;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * @param hedging policy gửi lại; {@code null} để tắt
+     * @param executor chạy các lời gọi có thể được gửi lại; bắt buộc khi có {@code hedging}
+     * @param limiter giới hạn lời gọi đồng thời mà lời gọi gửi thêm phải lấy suất; {@code null} nếu tắt
+     */
+    LoadBalancingClientHttpRequestFactory(ClientHttpRequestFactory delegate, String baseUrl, EndpointGroup endpoints,
+                                          HedgingPolicy hedging, Executor executor, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.endpoints = endpoints;
+        this.hedging = endpoints.getEndpoints().size() > 1 ? hedging : null;
+        this.executor = executor;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        String url = uri.toString();
+        if (!url.startsWith(baseUrl)) {
+            return delegate.createRequest(uri, httpMethod);
+        }
+        return new LoadBalancedRequest(uri, httpMethod, url.substring(baseUrl.length()));
+    }
+
+    private final class LoadBalancedRequest extends AbstractClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final String pathAndQuery;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        private LoadBalancedRequest(URI uri, HttpMethod method, String pathAndQuery) {
+            this.uri = uri;
+            this.method = method;
+            this.pathAndQuery = pathAndQuery;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            byte[] content = body.toByteArray();
+            String route = hedging != null ? HedgingPolicy.route(method, uri.getPath()) : null;
+            if (route == null) {
+                return send(endpoints.choose(null), headers, content);
+            }
+            long delayNanos = hedging.begin(route);
+            EndpointGroup.Endpoint primary = endpoints.choose(null);
+            if (delayNanos < 0) {
+                // Chưa đủ mẫu để biết thế nào là chậm: gửi trên thread gọi và chỉ ghi nhận thời gian phản hồi.
+                return sendAndRecord(primary, route, headers, content);
+            }
+            CompletableFuture<ClientHttpResponse> first;
+            try {
+                first = sendAsync(primary, route, headers, content);
+            } catch (RejectedExecutionException e) {
+                // Executor đã hết thread: gửi trên thread gọi, không gửi lại.
+                return sendAndRecord(primary, route, headers, content);
+            }
+            try {
+                return first.get(delayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Lời gọi đầu tiên chậm hơn thường lệ: gửi lại bên dưới.
+            } catch (InterruptedException e) {
+                throw interrupted(first);
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            }
+            EndpointGroup.Endpoint secondary = endpoints.choose(primary);
+            if (secondary == null || !hedging.tryHedge()) {
+                return await(first);
+            }
+            CompletableFuture<ClientHttpResponse> second;
+            try {
+                second = sendHedgeAsync(secondary, route, headers, content);
+            } catch (RejectedExecutionException e) {
+                return await(first);
+            }
+            return await(firstResponse(first, second));
+        }
+
+        private CompletableFuture<ClientHttpResponse> sendAsync(EndpointGroup.Endpoint endpoint, String route,
+                                                                HttpHeaders headers, byte[] content) {
+            return CompletableFuture.supplyAsync(Deadline.propagate(() -> {
+                try {
+                    return sendAndRecord(endpoint, route, headers, content);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }), executor);
+        }
+
+        private CompletableFuture<ClientHttpResponse> sendHedgeAsync(EndpointGroup.Endpoint endpoint, String route,
+                                                                     HttpHeaders headers, byte[] content) {
+            if (limiter == null) {
+                return sendAsync(endpoint, route, headers, content);
+            }
+            return CompletableFuture.supplyAsync(Deadline.propagate(() -> {
+                if (!limiter.tryAcquire()) {
+                    throw new ConcurrencyLimitExceededException("Concurrency limit '" + limiter.getName()
+                            + "' reached; the hedged auth service call was not sent.");
+                }
+                long start = System.nanoTime();
+                ClientHttpResponse response = null;
+                try {
+                    response = sendAndRecord(endpoint, route, headers, content);
+                    return new AdmissionControlInterceptor.PermitHoldingResponse(response, limiter, start,
+                            AdmissionControlInterceptor.isOverloaded(response));
+                } catch (IOException e) {
+                    release(response, start);
+                    throw new UncheckedIOException(e);
+                } catch (RuntimeException e) {
+                    release(response, start);
+                    throw e;
+                }
+            }), executor);
+        }
+
+        private void release(ClientHttpResponse response, long start) {
+            if (response != null) {
+                response.close();
+            }
+            limiter.release(start, true);
+        }
+
+        private ClientHttpResponse sendAndRecord(EndpointGroup.Endpoint endpoint, String route, HttpHeaders headers,
+                                                 byte[] content) throws IOException {
+            long start = System.nanoTime();
+            ClientHttpResponse response = send(endpoint, headers, content);
+            if (!response.getStatusCode().is5xxServerError()) {
+                hedging.record(route, System.nanoTime() - start);
+            }
+            return response;
+        }
+
+        private ClientHttpResponse send(EndpointGroup.Endpoint endpoint, HttpHeaders headers, byte[] content) throws IOException {
+            ClientHttpRequest request = delegate.createRequest(URI.create(endpoint.getBaseUrl() + pathAndQuery), method);
+            request.getHeaders().putAll(headers);
+            if (content.length > 0) {
+                StreamUtils.copy(content, request.getBody());
+            }
+            endpoints.begin(endpoint);
+            boolean failed = true;
+            try {
+                ClientHttpResponse response = request.execute();
+                failed = response.getStatusCode().is5xxServerError();
+                return response;
+            } finally {
+                endpoints.end(endpoint, failed);
+            }
+        }
+    }
+
+    /**
+     * Response không phải 5xx đến trước trong hai lời gọi. Khi cả hai cùng thất bại: response 5xx đến trước nếu có,
+     * nếu không thì lỗi của lời gọi đầu tiên. Response không được dùng được đóng.
+     */
+    private static CompletableFuture<ClientHttpResponse> firstResponse(CompletableFuture<ClientHttpResponse> first,
+                                                                       CompletableFuture<ClientHttpResponse> second) {
+        CompletableFuture<ClientHttpResponse> winner = new CompletableFuture<>();
+        HedgeOutcome outcome = new HedgeOutcome(winner);
+        first.whenComplete((response, error) -> outcome.complete(response, error, true));
+        second.whenComplete((response, error) -> outcome.complete(response, error, false));
+        return winner;
+    }
+
+    private static final class HedgeOutcome {
+
+        private final CompletableFuture<ClientHttpResponse> winner;
+        private int pending = 2;
+        private ClientHttpResponse serverError;
+        private Throwable firstError;
+        private Throwable secondError;
+
+        private HedgeOutcome(CompletableFuture<ClientHttpResponse> winner) {
+            this.winner = winner;
+        }
+
+        void complete(ClientHttpResponse response, Throwable error, boolean first) {
+            if (response != null && !isServerError(response)) {
+                completeOrClose(winner, response);
+                response = null;
+            }
+            ClientHttpResponse fallback;
+            Throwable failure;
+            synchronized (this) {
+                if (response != null) {
+                    if (serverError == null) {
+                        serverError = response;
+                        response = null;
+                    }
+                } else if (error != null) {
+                    if (first) {
+                        firstError = error;
+                    } else {
+                        secondError = error;
+                    }
+                }
+                if (--pending > 0) {
+                    fallback = null;
+                    failure = null;
+                } else {
+                    fallback = serverError;
+                    failure = firstError != null ? firstError : secondError;
+                }
+            }
+            if (response != null) {
+                // Response 5xx thứ hai: đã có một response 5xx để dùng khi cần.
+                response.close();
+            }
+            if (fallback != null) {
+                completeOrClose(winner, fallback);
+            } else if (failure != null) {
+                winner.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private static boolean isServerError(ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static void completeOrClose(CompletableFuture<ClientHttpResponse> winner, ClientHttpResponse response) {
+        if (!winner.complete(response)) {
+            response.close();
+        }
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<ClientHttpResponse> response) throws IOException {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            throw interrupted(response);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static InterruptedIOException interrupted(CompletableFuture<ClientHttpResponse> response) {
+        Thread.currentThread().interrupt();
+        // Không còn ai đọc response: đóng khi nó đến để trả connection về pool.
+        response.thenAccept(ClientHttpResponse::close);
+        return new InterruptedIOException("Interrupted while waiting for the auth service response.");
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException) {
+            return ((UncheckedIOException) cause).getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+}
@@ -0,0 +1,45 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.resilience.EndpointGroup;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gửi các request đến {@code base-url} của {@code authClientWebClient} tới một instance của {@link EndpointGroup}.
+ * Instance được chọn khi subscribe, nên mỗi lần thử lại có thể đến một instance khác.
+ */
+class LoadBalancingExchangeFilter implements ExchangeFilterFunction {
+
+    private final String baseUrl;
+    private final EndpointGroup endpoints;
+
+    LoadBalancingExchangeFilter(String baseUrl, EndpointGroup endpoints) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String url = request.url().toString();
+        if (!url.startsWith(baseUrl)) {
+            return next.exchange(request);
+        }
+        String pathAndQuery = url.substring(baseUrl.length());
+        return Mono.defer(() -> {
+            EndpointGroup.Endpoint endpoint = endpoints.choose(null);
+            ClientRequest target = ClientRequest.from(request).url(URI.create(endpoint.getBaseUrl() + pathAndQuery)).build();
+            AtomicBoolean serverError = new AtomicBoolean();
+            endpoints.begin(endpoint);
+            return next.exchange(target)
+                    .doOnNext(response -> serverError.set(response.statusCode().is5xxServerError()))
+                    .doFinally(signal -> endpoints.end(endpoint, signal == SignalType.ON_ERROR || serverError.get()));
+        });
+    }
+}
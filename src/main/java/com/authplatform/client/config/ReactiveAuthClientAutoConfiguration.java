@@ -0,0 +1,92 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.jwt.JwksKeyProvider;
+import com.authplatform.client.jwt.JwtVerifier;
+import com.authplatform.client.resilience.EndpointGroup;
+import com.authplatform.client.resolver.ReactiveValidatedUserArgumentResolver;
+import com.authplatform.client.security.ReactiveSecurityWebFilter;
+import com.authplatform.client.security.ReactiveTokenValidator;
+import com.authplatform.client.security.RejectedTokenCache;
+import com.authplatform.client.security.TokenValidationCache;
+import com.authplatform.client.service.ReactiveAuthClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.Duration;
+
+/**
+ * Cấu hình cho ứng dụng WebFlux: {@link ReactiveAuthClient} và việc thực thi
+ * {@code @RequiresProjectRole}/{@code @RequiresProjectLevel} bằng một {@code WebFilter} non-blocking.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass(WebClient.class)
+@EnableConfigurationProperties(AuthClientProperties.class)
+@Import(AuthClientValidationConfiguration.class)
+public class ReactiveAuthClientAutoConfiguration implements WebFluxConfigurer {
+
+    public static final String WEB_CLIENT_BEAN_NAME = "authClientWebClient";
+
+    @Bean(name = WEB_CLIENT_BEAN_NAME)
+    @ConditionalOnMissingBean(name = WEB_CLIENT_BEAN_NAME)
+    public WebClient authClientWebClient(AuthClientProperties properties, ObjectProvider<WebClient.Builder> webClientBuilder) {
+        WebClient.Builder builder = webClientBuilder.getIfAvailable(WebClient::builder);
+        AuthClientProperties.LoadBalancer loadBalancer = properties.getLoadBalancer();
+        if (!loadBalancer.getBaseUrls().isEmpty()) {
+            builder.filter(new LoadBalancingExchangeFilter(properties.getBaseUrl(), new EndpointGroup(loadBalancer)));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "auth.client.jwt", name = "enabled")
+    public JwksKeyProvider jwksKeyProvider(AuthClientProperties properties,
+                                           @Qualifier(WEB_CLIENT_BEAN_NAME) WebClient webClient) {
+        AuthClientProperties.Jwt jwt = properties.getJwt();
+        String jwksUri = AuthClientValidationConfiguration.jwksUri(properties);
+        Duration timeout = properties.getHttp().getConnectTimeout().plus(properties.getHttp().getReadTimeout());
+        // Chạy trên thread làm mới JWKS của JwksKeyProvider, không phải thread của event loop.
+        return new JwksKeyProvider(jwksUri, () -> webClient.get().uri(jwksUri).retrieve().bodyToMono(String.class).block(timeout),
+                jwt.getRefreshInterval(), jwt.getMinRefreshInterval());
+    }
+
+    @Bean
+    public ReactiveAuthClient reactiveAuthClient(AuthClientProperties properties,
+                                                 @Qualifier(WEB_CLIENT_BEAN_NAME) WebClient webClient) {
+        return new ReactiveAuthClient(properties, webClient);
+    }
+
+    @Bean
+    public ReactiveTokenValidator reactiveTokenValidator(AuthClientProperties properties,
+                                                         @Qualifier(WEB_CLIENT_BEAN_NAME) WebClient webClient,
+                                                         ObjectProvider<TokenValidationCache> validationCache,
+                                                         ObjectProvider<JwtVerifier> jwtVerifier,
+                                                         ObjectProvider<RejectedTokenCache> rejectedTokens) {
+        return new ReactiveTokenValidator(properties, webClient, validationCache.getIfAvailable(), jwtVerifier.getIfAvailable(),
+                rejectedTokens.getIfAvailable());
+    }
+
+    @Bean
+    public ReactiveSecurityWebFilter reactiveSecurityWebFilter(
+            @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+            ReactiveTokenValidator reactiveTokenValidator) {
+        return new ReactiveSecurityWebFilter(handlerMapping, reactiveTokenValidator);
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactiveValidatedUserArgumentResolver());
+    }
+}
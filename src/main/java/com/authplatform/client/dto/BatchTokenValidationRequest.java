@@ -0,0 +1,22 @@
+package com.authplatform.client.dto;
+
+import java.util.List;
+
+public class BatchTokenValidationRequest {
+    private List<String> tokens;
+
+    public BatchTokenValidationRequest() {
+    }
+
+    public BatchTokenValidationRequest(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
@@ -0,0 +1,51 @@
+package com.authplatform.client.dto;
+
+/**
+ * Kết quả của thao tác hàng loạt trên một EndUser.
+ */
+public class BulkItemResult {
+    private final Long endUserId;
+    private final boolean success;
+    private final int statusCode;
+    private final String errorMessage;
+    private final Throwable error;
+
+    private BulkItemResult(Long endUserId, boolean success, int statusCode, String errorMessage, Throwable error) {
+        this.endUserId = endUserId;
+        this.success = success;
+        this.statusCode = statusCode;
+        this.errorMessage = errorMessage;
+        this.error = error;
+    }
+
+    public static BulkItemResult success(Long endUserId) {
+        return new BulkItemResult(endUserId, true, 0, null, null);
+    }
+
+    /**
+     * @param statusCode HTTP status từ dịch vụ xác thực, hoặc 0 nếu lỗi không đến từ response (timeout, breaker mở, ...)
+     */
+    public static BulkItemResult failure(Long endUserId, int statusCode, Throwable error) {
+        return new BulkItemResult(endUserId, false, statusCode, error.getMessage(), error);
+    }
+
+    public Long getEndUserId() {
+        return endUserId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+}
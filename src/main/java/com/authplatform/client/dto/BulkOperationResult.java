@@ -0,0 +1,42 @@
+package com.authplatform.client.dto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Báo cáo của một thao tác hàng loạt: kết quả từng EndUser theo đúng thứ tự đầu vào.
+ * Một phần thất bại không làm dừng các EndUser còn lại.
+ */
+public class BulkOperationResult {
+    private final List<BulkItemResult> items;
+    private final int succeeded;
+
+    public BulkOperationResult(List<BulkItemResult> items) {
+        this.items = List.copyOf(items);
+        this.succeeded = (int) items.stream().filter(BulkItemResult::isSuccess).count();
+    }
+
+    public List<BulkItemResult> getItems() {
+        return items;
+    }
+
+    public int getTotal() {
+        return items.size();
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return items.size() - succeeded;
+    }
+
+    public boolean isAllSucceeded() {
+        return succeeded == items.size();
+    }
+
+    public List<BulkItemResult> getFailures() {
+        return items.stream().filter(item -> !item.isSuccess()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,189 @@
+package com.authplatform.client.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Tải và cache bộ khóa công khai (JWKS) dùng để ký token.
+ * Bộ khóa được làm mới định kỳ ở background, và được tải lại sớm hơn khi gặp một key id lạ
+ * (trường hợp dịch vụ xác thực vừa xoay vòng khóa).
+ */
+public class JwksKeyProvider implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(JwksKeyProvider.class);
+
+    private final String jwksUri;
+    private final Supplier<String> loader;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long minRefreshIntervalNanos;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    /** Đã có một lần tải lại theo yêu cầu đang chờ trên scheduler. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile Map<String, PublicKey> keys = Collections.emptyMap();
+    private volatile long lastRefreshAttempt = System.nanoTime() - Long.MAX_VALUE / 2;
+
+    public JwksKeyProvider(String jwksUri, RestTemplate restTemplate, Duration refreshInterval, Duration minRefreshInterval) {
+        this(jwksUri, () -> restTemplate.getForObject(jwksUri, String.class), refreshInterval, minRefreshInterval);
+    }
+
+    /**
+     * @param loader tải nội dung JWKS từ {@code jwksUri}; chạy trên thread làm mới riêng, nên được phép chặn
+     */
+    public JwksKeyProvider(String jwksUri, Supplier<String> loader, Duration refreshInterval, Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.loader = loader;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "auth-client-jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = refreshInterval.toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Trả về khóa theo key id, hoặc null nếu chưa biết khóa này.
+     */
+    public PublicKey getKey(String keyId) {
+        return keys.get(keyId);
+    }
+
+    /**
+     * Yêu cầu tải lại JWKS ở background, nếu lần tải gần nhất đã đủ lâu.
+     * Nhiều yêu cầu đồng thời chỉ tạo một lần tải. Không chặn thread gọi.
+     */
+    public void requestRefresh() {
+        if (!isRefreshDue() || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(() -> {
+                try {
+                    refreshQuietly();
+                } finally {
+                    scheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Đã đóng.
+            scheduled.set(false);
+        }
+    }
+
+    /**
+     * Tải JWKS ngay trên thread hiện tại và thay thế toàn bộ bộ khóa đang cache.
+     * Không làm gì nếu đang có lần tải khác, hoặc lần tải gần nhất chưa quá {@code min-refresh-interval}.
+     */
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (!isRefreshDue()) {
+                return;
+            }
+            lastRefreshAttempt = System.nanoTime();
+            String body = loader.get();
+            this.keys = parseKeySet(body);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private boolean isRefreshDue() {
+        return System.nanoTime() - lastRefreshAttempt >= minRefreshIntervalNanos;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // Giữ lại bộ khóa cũ; token với key id lạ sẽ được xác thực qua /validate-token
+            log.warn("Could not refresh JWKS from " + jwksUri + ": " + e.getMessage());
+        }
+    }
+
+    Map<String, PublicKey> parseKeySet(String body) {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            for (JsonNode jwk : root.path("keys")) {
+                String kid = jwk.path("kid").asText(null);
+                String use = jwk.path("use").asText("sig");
+                if (kid == null || !"sig".equals(use)) {
+                    continue;
+                }
+                PublicKey key = toPublicKey(jwk);
+                if (key != null) {
+                    parsed.put(kid, key);
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid JWKS document: " + e.getMessage(), e);
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    private static PublicKey toPublicKey(JsonNode jwk) throws GeneralSecurityException {
+        String kty = jwk.path("kty").asText();
+        if ("RSA".equals(kty)) {
+            BigInteger modulus = decode(jwk.path("n").asText());
+            BigInteger exponent = decode(jwk.path("e").asText());
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+        }
+        if ("EC".equals(kty)) {
+            String curve = switch (jwk.path("crv").asText()) {
+                case "P-256" -> "secp256r1";
+                case "P-384" -> "secp384r1";
+                case "P-521" -> "secp521r1";
+                default -> null;
+            };
+            if (curve == null) {
+                return null;
+            }
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(curve));
+            ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+            ECPoint point = new ECPoint(decode(jwk.path("x").asText()), decode(jwk.path("y").asText()));
+            return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+        }
+        return null;
+    }
+
+    private static BigInteger decode(String base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
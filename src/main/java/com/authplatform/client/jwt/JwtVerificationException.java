@@ -0,0 +1,12 @@
+package com.authplatform.client.jwt;
+
+/**
+ * Token không qua được bước kiểm tra cục bộ: sai định dạng, sai chữ ký, hết hạn hoặc sai issuer.
+ */
+public class JwtVerificationException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JwtVerificationException(String message) { super(message); }
+
+    public JwtVerificationException(String message, Throwable cause) { super(message, cause); }
+}
@@ -0,0 +1,177 @@
+package com.authplatform.client.jwt;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Xác thực chữ ký và thời hạn của JWT ngay trong ứng dụng, rồi đọc các claim
+ * vào {@link TokenValidationResponse} giống như kết quả của /validate-token.
+ * Hỗ trợ RS256/RS384/RS512 và ES256/ES384/ES512.
+ * <p>
+ * Giống /validate-token của một project, token chỉ được chấp nhận khi {@code iss} khớp issuer đã cấu hình và
+ * {@code aud} chứa project này: token của project khác cùng được ký bằng khóa của nền tảng bị từ chối.
+ */
+public class JwtVerifier {
+
+    private final JwksKeyProvider keyProvider;
+    private final AuthClientProperties.Jwt config;
+    private final String audience;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param audience giá trị {@code aud} của token được chấp nhận, thường là api key của project
+     */
+    public JwtVerifier(JwksKeyProvider keyProvider, AuthClientProperties.Jwt config, String audience) {
+        if (config.getIssuer() == null || config.getIssuer().isBlank()) {
+            throw new IllegalStateException("JWT issuer is not configured. Please set 'auth.client.jwt.issuer'.");
+        }
+        if (audience == null || audience.isBlank()) {
+            throw new IllegalStateException("JWT audience is not configured. Please set 'auth.client.jwt.audience' or 'auth.client.api-key'.");
+        }
+        this.keyProvider = keyProvider;
+        this.config = config;
+        this.audience = audience;
+    }
+
+    /**
+     * @throws UnknownKeyException nếu token được ký bằng một khóa chưa có trong JWKS
+     * @throws UnsupportedAlgorithmException nếu token dùng thuật toán không được hỗ trợ ở đây
+     * @throws JwtVerificationException nếu token không hợp lệ
+     */
+    public TokenValidationResponse verify(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new JwtVerificationException("Token is not a compact JWS.");
+        }
+
+        JsonNode header = readJson(token.substring(0, firstDot));
+        String algorithm = header.path("alg").asText();
+        String keyId = header.path("kid").asText(null);
+        String jcaAlgorithm = toJcaAlgorithm(algorithm);
+        if (jcaAlgorithm == null) {
+            throw new UnsupportedAlgorithmException(algorithm);
+        }
+
+        PublicKey key = keyProvider.getKey(keyId);
+        if (key == null) {
+            keyProvider.requestRefresh();
+            throw new UnknownKeyException(keyId);
+        }
+
+        byte[] signingInput = token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII);
+        byte[] signature = decode(token.substring(secondDot + 1));
+        try {
+            Signature verifier = Signature.getInstance(jcaAlgorithm);
+            verifier.initVerify(key);
+            verifier.update(signingInput);
+            if (!verifier.verify(signature)) {
+                throw new JwtVerificationException("Token signature is invalid.");
+            }
+        } catch (GeneralSecurityException e) {
+            throw new JwtVerificationException("Token signature could not be verified.", e);
+        }
+
+        JsonNode claims = readJson(token.substring(firstDot + 1, secondDot));
+        checkTimestamps(claims);
+        if (!config.getIssuer().equals(claims.path("iss").asText(null))) {
+            throw new JwtVerificationException("Token issuer is not trusted.");
+        }
+        if (!hasAudience(claims.get(config.getAudienceClaim()))) {
+            throw new JwtVerificationException("Token was not issued for this project.");
+        }
+        return toValidationResponse(claims);
+    }
+
+    /**
+     * {@code aud} có thể là một chuỗi hoặc một mảng chuỗi (RFC 7519, mục 4.1.3).
+     */
+    private boolean hasAudience(JsonNode aud) {
+        if (aud == null) {
+            return false;
+        }
+        if (aud.isArray()) {
+            for (JsonNode value : aud) {
+                if (audience.equals(value.asText(null))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return audience.equals(aud.asText(null));
+    }
+
+    private void checkTimestamps(JsonNode claims) {
+        long now = System.currentTimeMillis() / 1000;
+        long skew = config.getClockSkew().getSeconds();
+        JsonNode exp = claims.get("exp");
+        if (exp == null || !exp.canConvertToLong()) {
+            throw new JwtVerificationException("Token has no expiry.");
+        }
+        if (exp.asLong() + skew < now) {
+            throw new JwtVerificationException("Token is expired.");
+        }
+        JsonNode nbf = claims.get("nbf");
+        if (nbf != null && nbf.asLong() - skew > now) {
+            throw new JwtVerificationException("Token is not valid yet.");
+        }
+    }
+
+    private TokenValidationResponse toValidationResponse(JsonNode claims) {
+        TokenValidationResponse response = new TokenValidationResponse();
+        response.setValid(true);
+        JsonNode userId = claims.has(config.getUserIdClaim()) ? claims.get(config.getUserIdClaim()) : claims.get("sub");
+        response.setUserId(userId != null && !userId.isNull() ? userId.asText() : null);
+        response.setEmail(claims.path(config.getEmailClaim()).asText(null));
+        Set<String> roles = new HashSet<>();
+        for (JsonNode role : claims.path(config.getRolesClaim())) {
+            roles.add(role.asText());
+        }
+        response.setRoles(roles);
+        response.setMaxRoleLevel(claims.path(config.getMaxRoleLevelClaim()).asInt(0));
+        return response;
+    }
+
+    /**
+     * @return tên thuật toán JCA, hoặc {@code null} nếu không hỗ trợ
+     */
+    private static String toJcaAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case "RS256" -> "SHA256withRSA";
+            case "RS384" -> "SHA384withRSA";
+            case "RS512" -> "SHA512withRSA";
+            // JWS dùng định dạng chữ ký R||S (IEEE P1363), không phải DER
+            case "ES256" -> "SHA256withECDSAinP1363Format";
+            case "ES384" -> "SHA384withECDSAinP1363Format";
+            case "ES512" -> "SHA512withECDSAinP1363Format";
+            default -> null;
+        };
+    }
+
+    private JsonNode readJson(String base64Url) {
+        try {
+            return objectMapper.readTree(decode(base64Url));
+        } catch (IOException e) {
+            throw new JwtVerificationException("Token is not valid JSON.", e);
+        }
+    }
+
+    private static byte[] decode(String base64Url) {
+        try {
+            return Base64.getUrlDecoder().decode(base64Url);
+        } catch (IllegalArgumentException e) {
+            throw new JwtVerificationException("Token is not valid base64url.", e);
+        }
+    }
+}
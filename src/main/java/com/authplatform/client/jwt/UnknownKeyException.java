@@ -0,0 +1,20 @@
+package com.authplatform.client.jwt;
+
+/**
+ * Token được ký bằng một key id chưa có trong JWKS đã tải. Khi gặp lỗi này,
+ * token phải được xác thực lại qua dịch vụ xác thực chính.
+ */
+public class UnknownKeyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String keyId;
+
+    public UnknownKeyException(String keyId) {
+        super("No signing key with id '" + keyId + "' in the cached JWKS.");
+        this.keyId = keyId;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+}
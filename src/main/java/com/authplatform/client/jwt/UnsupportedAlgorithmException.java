@@ -0,0 +1,20 @@
+package com.authplatform.client.jwt;
+
+/**
+ * Token dùng thuật toán ký (header {@code alg}) mà bộ xác thực cục bộ không hỗ trợ. Token không bị coi là
+ * không hợp lệ: nó phải được xác thực lại qua dịch vụ xác thực chính.
+ */
+public class UnsupportedAlgorithmException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String algorithm;
+
+    public UnsupportedAlgorithmException(String algorithm) {
+        super("Token algorithm '" + algorithm + "' is not supported for local verification.");
+        this.algorithm = algorithm;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+}
@@ -0,0 +1,40 @@
+package com.authplatform.client.metrics;
+
+import com.authplatform.client.service.AuthOperation;
+
+import java.util.function.Supplier;
+
+/**
+ * Ghi nhận độ trễ của các lời gọi đến dịch vụ xác thực và kết quả của các lần kiểm tra quyền.
+ * Mặc định là {@link #NOOP}; khi ứng dụng có {@code MeterRegistry}, {@link MicrometerAuthClientMetrics} được dùng.
+ */
+public interface AuthClientMetrics {
+
+    String DENIED_MISSING_HEADER = "missing_header";
+    String DENIED_INVALID_TOKEN = "invalid_token";
+    String DENIED_INSUFFICIENT_ROLE = "insufficient_role";
+    String DENIED_INSUFFICIENT_LEVEL = "insufficient_level";
+    String DENIED_RATE_LIMITED = "rate_limited";
+
+    AuthClientMetrics NOOP = new AuthClientMetrics() {
+        @Override
+        public <T> T recordCall(AuthOperation operation, Supplier<T> call) {
+            return call.get();
+        }
+
+        @Override
+        public void recordAuthorization(String check, long durationNanos, String deniedReason) {
+        }
+    };
+
+    /**
+     * Chạy {@code call} và ghi lại thời gian, HTTP status và kết quả của nó.
+     */
+    <T> T recordCall(AuthOperation operation, Supplier<T> call);
+
+    /**
+     * @param check        loại kiểm tra ({@code role} hoặc {@code level})
+     * @param deniedReason lý do từ chối, hoặc null nếu được cho phép
+     */
+    void recordAuthorization(String check, long durationNanos, String deniedReason);
+}
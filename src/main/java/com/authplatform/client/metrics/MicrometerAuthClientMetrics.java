@@ -0,0 +1,144 @@
+package com.authplatform.client.metrics;
+
+import com.authplatform.client.resilience.CallNotPermittedException;
+import com.authplatform.client.service.AuthOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Metrics Micrometer:
+ * <ul>
+ *   <li>{@code auth.client.requests} (timer, tags {@code operation}, {@code status}, {@code outcome}): mọi lời gọi đến dịch vụ xác thực.
+ *       {@code status} là HTTP status thật của response (ghi bởi {@link ResponseStatusInterceptor}), hoặc {@code NONE}
+ *       khi không nhận được response trên thread gọi; {@code outcome} được suy ra từ chính status đó.</li>
+ *   <li>{@code auth.client.authorization} (timer, tags {@code check}, {@code outcome}): mỗi lần kiểm tra
+ *       {@code @RequiresProjectRole}/{@code @RequiresProjectLevel}.</li>
+ *   <li>{@code auth.client.authorization.denied} (counter, tag {@code reason}): các lần bị từ chối theo lý do.</li>
+ * </ul>
+ * Các timer đều publish percentile histogram. Meter được tạo một lần cho mỗi bộ tag rồi dùng lại.
+ */
+public class MicrometerAuthClientMetrics implements AuthClientMetrics {
+
+    private static final int NO_STATUS = 0;
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<RequestTags, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> grantedTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> deniedTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> deniedCounters = new ConcurrentHashMap<>();
+
+    public MicrometerAuthClientMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public <T> T recordCall(AuthOperation operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        int[] captured = {NO_STATUS};
+        int[] previous = ResponseStatusInterceptor.begin(captured);
+        String outcome = "UNKNOWN";
+        try {
+            T result = call.get();
+            if (captured[0] == NO_STATUS && result instanceof ResponseEntity) {
+                captured[0] = ((ResponseEntity<?>) result).getStatusCode().value();
+            }
+            outcome = "SUCCESS";
+            return result;
+        } catch (RestClientResponseException e) {
+            captured[0] = e.getStatusCode().value();
+            throw e;
+        } catch (CallNotPermittedException e) {
+            outcome = "REJECTED";
+            throw e;
+        } catch (ResourceAccessException e) {
+            outcome = "IO_ERROR";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "ERROR";
+            throw e;
+        } finally {
+            ResponseStatusInterceptor.end(previous);
+            int status = captured[0];
+            if (status != NO_STATUS) {
+                // Status và outcome luôn khớp nhau, dù response đến từ exchange() hay postForObject().
+                outcome = status >= 500 ? "SERVER_ERROR" : status >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+            }
+            requestTimer(new RequestTags(operation, status, outcome)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void recordAuthorization(String check, long durationNanos, String deniedReason) {
+        boolean granted = deniedReason == null;
+        ConcurrentMap<String, Timer> timers = granted ? grantedTimers : deniedTimers;
+        Timer timer = timers.get(check);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(check, c -> Timer.builder("auth.client.authorization")
+                    .description("Authorization checks for @RequiresProjectRole / @RequiresProjectLevel")
+                    .tag("check", c)
+                    .tag("outcome", granted ? "GRANTED" : "DENIED")
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (!granted) {
+            Counter counter = deniedCounters.get(deniedReason);
+            if (counter == null) {
+                counter = deniedCounters.computeIfAbsent(deniedReason, reason -> Counter.builder("auth.client.authorization.denied")
+                        .description("Denied authorization checks by reason")
+                        .tag("reason", reason)
+                        .register(registry));
+            }
+            counter.increment();
+        }
+    }
+
+    private Timer requestTimer(RequestTags tags) {
+        Timer timer = requestTimers.get(tags);
+        if (timer == null) {
+            timer = requestTimers.computeIfAbsent(tags, t -> Timer.builder("auth.client.requests")
+                    .description("Calls from the auth client to the auth service")
+                    .tag("operation", t.operation.getTagValue())
+                    .tag("status", t.status == NO_STATUS ? "NONE" : String.valueOf(t.status))
+                    .tag("outcome", t.outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        return timer;
+    }
+
+    private static final class RequestTags {
+        private final AuthOperation operation;
+        private final int status;
+        private final String outcome;
+
+        private RequestTags(AuthOperation operation, int status, String outcome) {
+            this.operation = operation;
+            this.status = status;
+            this.outcome = outcome;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RequestTags)) {
+                return false;
+            }
+            RequestTags other = (RequestTags) o;
+            return operation == other.operation && status == other.status && outcome.equals(other.outcome);
+        }
+
+        @Override
+        public int hashCode() {
+            return (operation.hashCode() * 31 + status) * 31 + outcome.hashCode();
+        }
+    }
+}
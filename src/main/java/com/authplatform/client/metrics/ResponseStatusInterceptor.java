@@ -0,0 +1,45 @@
+package com.authplatform.client.metrics;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Ghi lại HTTP status thật của response cho {@link AuthClientMetrics#recordCall} đang chạy trên cùng thread,
+ * kể cả khi người gọi không nhận {@code ResponseEntity} (ví dụ {@code postForObject}).
+ * Nên là interceptor đầu tiên của {@code RestTemplate} để thấy response cuối cùng.
+ */
+public class ResponseStatusInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        int[] status = CURRENT.get();
+        if (status != null) {
+            status[0] = response.getStatusCode().value();
+        }
+        return response;
+    }
+
+    /**
+     * Bắt đầu ghi nhận cho lời gọi hiện tại; trả về giá trị trước đó để {@link #end} khôi phục.
+     */
+    static int[] begin(int[] status) {
+        int[] previous = CURRENT.get();
+        CURRENT.set(status);
+        return previous;
+    }
+
+    static void end(int[] previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Giới hạn số lời gọi đồng thời đến dịch vụ xác thực, điều chỉnh theo AIMD:
+ * mỗi lời gọi thành công và nhanh tăng giới hạn thêm {@code 1/limit} (khoảng +1 sau mỗi "vòng" đầy giới hạn),
+ * mỗi lời gọi lỗi, quá tải hoặc chậm hơn {@code latency-threshold} nhân giới hạn với {@code backoff-ratio}.
+ * <p>
+ * Khi đã đủ giới hạn, tối đa {@code max-queue-size} lời gọi được chờ, mỗi lời gọi chờ không quá {@code max-wait}
+ * (và không quá thời gian còn lại của {@link Deadline}); còn lại bị từ chối ngay bằng
+ * {@link ConcurrencyLimitExceededException}, thay vì chiếm thêm thread của servlet container.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final int maxQueueSize;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    public AdaptiveConcurrencyLimiter(String name, AuthClientProperties.ConcurrencyLimit config) {
+        if (config.getMinLimit() <= 0 || config.getMaxLimit() < config.getMinLimit()) {
+            throw new IllegalArgumentException("Concurrency limit requires 0 < min-limit <= max-limit.");
+        }
+        if (config.getBackoffRatio() <= 0 || config.getBackoffRatio() >= 1) {
+            throw new IllegalArgumentException("Concurrency limit backoff-ratio must be between 0 and 1.");
+        }
+        this.name = name;
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = config.getMaxLimit();
+        this.backoffRatio = config.getBackoffRatio();
+        this.latencyThresholdNanos = config.getLatencyThreshold().toNanos();
+        this.maxQueueSize = config.getMaxQueueSize();
+        this.maxWaitNanos = config.getMaxWait().toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, config.getInitialLimit()));
+    }
+
+    /**
+     * Chờ (có giới hạn) đến khi được phép gửi lời gọi.
+     *
+     * @return thời điểm bắt đầu lời gọi, truyền lại cho {@link #release}
+     * @throws ConcurrencyLimitExceededException nếu không được phép gửi
+     */
+    public long acquire() {
+        long maxWait = maxWaitNanos;
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            maxWait = Math.min(maxWait, deadline.remainingNanos());
+        }
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return System.nanoTime();
+            }
+            if (waiting >= maxQueueSize || maxWait <= 0) {
+                throw rejected();
+            }
+            waiting++;
+            try {
+                long remaining = maxWait;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        throw rejected();
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rejected();
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lấy một suất nếu còn ngay, không chờ và không vào hàng đợi.
+     *
+     * @return {@code true} nếu đã lấy được suất; khi đó phải gọi {@link #release} với thời điểm bắt đầu lời gọi
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param startNanos giá trị trả về của {@link #acquire()}, hoặc thời điểm gọi {@link #tryAcquire()}
+     * @param overloaded lời gọi thất bại vì lỗi kết nối/timeout hoặc dịch vụ báo quá tải (5xx, 429)
+     */
+    public void release(long startNanos, boolean overloaded) {
+        long latency = System.nanoTime() - startNanos;
+        lock.lock();
+        try {
+            int before = (int) limit;
+            if (overloaded || latency > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlight * 2 >= before) {
+                // Chỉ tăng khi giới hạn thật sự được dùng, để giới hạn không tăng mãi lúc ít tải.
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            inFlight--;
+            if ((int) limit > before) {
+                permitReleased.signalAll();
+            } else {
+                permitReleased.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private ConcurrencyLimitExceededException rejected() {
+        return new ConcurrencyLimitExceededException("Concurrency limit '" + name + "' reached (" + inFlight
+                + " in flight, " + waiting + " waiting); the auth service call was not sent.");
+    }
+}
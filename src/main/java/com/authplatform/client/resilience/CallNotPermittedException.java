@@ -0,0 +1,10 @@
+package com.authplatform.client.resilience;
+
+/**
+ * Lời gọi bị từ chối ngay mà không gửi đi, vì circuit breaker đang mở.
+ */
+public class CallNotPermittedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CallNotPermittedException(String message) { super(message); }
+}
@@ -0,0 +1,186 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker đếm theo cửa sổ trượt N lời gọi gần nhất.
+ * <ul>
+ *   <li>CLOSED: mọi lời gọi được đi qua; breaker mở khi tỉ lệ lỗi hoặc tỉ lệ gọi chậm vượt ngưỡng.</li>
+ *   <li>OPEN: mọi lời gọi bị từ chối ngay bằng {@link CallNotPermittedException} trong {@code wait-duration-in-open-state}.</li>
+ *   <li>HALF_OPEN: cho một số lời gọi thử đi qua; nếu chúng ổn thì đóng lại, nếu không thì mở lại.</li>
+ * </ul>
+ * Chỉ lỗi kết nối/timeout và lỗi 5xx được tính là lỗi; lỗi 4xx (token sai, thiếu quyền...) là phản hồi bình thường.
+ * Lời gọi bị từ chối trước khi gửi ({@link CallNotPermittedException}, ví dụ do giới hạn đồng thời hoặc deadline)
+ * không được ghi vào cửa sổ.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int minimumNumberOfCalls;
+    private final long waitDurationInOpenStateNanos;
+    private final int permittedCallsInHalfOpenState;
+
+    // Cửa sổ trượt: mỗi phần tử lưu kết quả một lời gọi (bit 0 = lỗi, bit 1 = chậm)
+    private final byte[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenCalls;
+    private int halfOpenFailures;
+
+    public CircuitBreaker(String name, AuthClientProperties.CircuitBreaker config) {
+        this(name, config, config.getSlowCallDuration());
+    }
+
+    /**
+     * @param slowCallDuration lời gọi lâu hơn khoảng này bị tính là chậm, thay cho {@code slow-call-duration}
+     */
+    public CircuitBreaker(String name, AuthClientProperties.CircuitBreaker config, Duration slowCallDuration) {
+        this.name = name;
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold();
+        this.slowCallDurationNanos = slowCallDuration.toNanos();
+        this.minimumNumberOfCalls = Math.min(config.getMinimumNumberOfCalls(), config.getSlidingWindowSize());
+        this.waitDurationInOpenStateNanos = config.getWaitDurationInOpenState().toNanos();
+        this.permittedCallsInHalfOpenState = config.getPermittedCallsInHalfOpenState();
+        this.window = new byte[config.getSlidingWindowSize()];
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquirePermission();
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            T result = call.get();
+            completed = true;
+            onComplete(System.nanoTime() - start, false);
+            return result;
+        } catch (RuntimeException e) {
+            if (!(e instanceof CallNotPermittedException)) {
+                completed = true;
+                onComplete(System.nanoTime() - start, isFailure(e));
+            }
+            throw e;
+        } finally {
+            if (!completed) {
+                // Error (kể cả AssertionError trong test) hoặc lời gọi chưa được gửi: không ghi nhận,
+                // chỉ trả lại suất thử HALF_OPEN để breaker không kẹt.
+                releasePermission();
+            }
+        }
+    }
+
+    public void execute(Runnable call) {
+        execute(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= waitDurationInOpenStateNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < waitDurationInOpenStateNanos) {
+                throw new CallNotPermittedException("Circuit breaker '" + name + "' is OPEN; the auth service call was not sent.");
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= permittedCallsInHalfOpenState) {
+                throw new CallNotPermittedException("Circuit breaker '" + name + "' is HALF_OPEN and waiting for probe calls.");
+            }
+            halfOpenPermits++;
+        }
+    }
+
+    private synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits > halfOpenCalls) {
+            halfOpenPermits--;
+        }
+    }
+
+    private synchronized void onComplete(long durationNanos, boolean failed) {
+        boolean slow = durationNanos > slowCallDurationNanos;
+        if (state == State.HALF_OPEN) {
+            halfOpenCalls++;
+            if (failed || slow) {
+                halfOpenFailures++;
+            }
+            if (halfOpenCalls >= permittedCallsInHalfOpenState) {
+                int failureRate = halfOpenFailures * 100 / halfOpenCalls;
+                transitionTo(failureRate >= failureRateThreshold ? State.OPEN : State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+
+        byte outcome = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+        if (recordedCalls == window.length) {
+            byte evicted = window[windowIndex];
+            failedCalls -= evicted & 1;
+            slowCalls -= (evicted >> 1) & 1;
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        failedCalls += failed ? 1 : 0;
+        slowCalls += slow ? 1 : 0;
+
+        if (recordedCalls >= minimumNumberOfCalls
+                && (failedCalls * 100 / recordedCalls >= failureRateThreshold
+                || slowCalls * 100 / recordedCalls >= slowCallRateThreshold)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        halfOpenPermits = 0;
+        halfOpenCalls = 0;
+        halfOpenFailures = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (newState == State.CLOSED) {
+            recordedCalls = 0;
+            failedCalls = 0;
+            slowCalls = 0;
+            windowIndex = 0;
+        }
+    }
+
+    /**
+     * Lỗi kết nối, timeout và lỗi 5xx cho thấy dịch vụ xác thực đang gặp sự cố.
+     */
+    public static boolean isFailure(Throwable e) {
+        return e instanceof RestClientException && !(e instanceof HttpClientErrorException);
+    }
+}
@@ -0,0 +1,10 @@
+package com.authplatform.client.resilience;
+
+/**
+ * Lời gọi không được gửi đi vì số lời gọi đồng thời đã đạt giới hạn và hàng đợi đã đầy hoặc đã chờ quá lâu.
+ */
+public class ConcurrencyLimitExceededException extends CallNotPermittedException {
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrencyLimitExceededException(String message) { super(message); }
+}
@@ -0,0 +1,108 @@
+package com.authplatform.client.resilience;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Thời điểm mà kết quả của request hiện tại không còn cần nữa.
+ * <p>
+ * Deadline được gắn vào thread đang xử lý request ({@link #bind()}); mọi lời gọi đến dịch vụ xác thực
+ * trên thread đó dùng thời gian còn lại làm timeout, và bị từ chối ngay bằng {@link DeadlineExceededException}
+ * nếu deadline đã qua. Các phương thức {@code *Async} của {@code AuthClient} mang theo deadline của thread gọi.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * @return deadline của thread hiện tại, hoặc {@code null} nếu không có
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Gắn deadline này vào thread hiện tại cho đến khi {@link Scope#close()}; nếu thread đã có deadline sớm hơn
+     * thì deadline đó vẫn được giữ.
+     */
+    public Scope bind() {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(previous != null && previous.expiresAtNanos - expiresAtNanos < 0 ? previous : this);
+        return new Scope(previous);
+    }
+
+    /**
+     * Bọc {@code call} để nó chạy với deadline của thread gọi (nếu có), trên một thread khác.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> call) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return call;
+        }
+        return () -> {
+            Scope scope = deadline.bind();
+            try {
+                return call.get();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    public static Runnable propagate(Runnable call) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return call;
+        }
+        return () -> {
+            Scope scope = deadline.bind();
+            try {
+                call.run();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    /**
+     * Khôi phục deadline trước đó của thread khi đóng.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final Deadline previous;
+
+        private Scope(Deadline previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
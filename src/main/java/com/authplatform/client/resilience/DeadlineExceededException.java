@@ -0,0 +1,10 @@
+package com.authplatform.client.resilience;
+
+/**
+ * Lời gọi không được gửi đi vì deadline của request đã qua.
+ */
+public class DeadlineExceededException extends CallNotPermittedException {
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String message) { super(message); }
+}
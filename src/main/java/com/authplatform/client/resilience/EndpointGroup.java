@@ -0,0 +1,127 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Các instance của dịch vụ xác thực ({@code auth.client.load-balancer.base-urls}).
+ * <p>
+ * Mỗi lời gọi chọn ngẫu nhiên hai instance và dùng instance có ít request đang chờ hơn (power-of-two-choices):
+ * instance chậm tự nhận ít lời gọi hơn vì request của nó chờ lâu hơn. Instance lỗi liên tiếp
+ * {@code failure-threshold} lần bị loại trong {@code ejection-duration}; khi quay lại, một lỗi là đủ để loại tiếp.
+ * Nếu mọi instance đều đang bị loại thì vẫn chọn trong tất cả, thay vì từ chối lời gọi.
+ */
+public class EndpointGroup {
+
+    public static final class Endpoint {
+        private final String baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        /** {@code System.nanoTime()} lúc hết bị loại; 0 nếu chưa từng bị loại hoặc đã thành công lại. */
+        private volatile long ejectedUntil;
+
+        private Endpoint(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        public boolean isEjected() {
+            long until = ejectedUntil;
+            return until != 0 && until - System.nanoTime() > 0;
+        }
+
+        @Override
+        public String toString() {
+            return baseUrl;
+        }
+    }
+
+    private final List<Endpoint> endpoints;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+
+    public EndpointGroup(AuthClientProperties.LoadBalancer config) {
+        if (config.getBaseUrls().isEmpty()) {
+            throw new IllegalArgumentException("Load balancer requires at least one base URL.");
+        }
+        List<Endpoint> endpoints = new ArrayList<>(config.getBaseUrls().size());
+        for (String baseUrl : config.getBaseUrls()) {
+            endpoints.add(new Endpoint(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl));
+        }
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        this.failureThreshold = Math.max(1, config.getFailureThreshold());
+        this.ejectionNanos = config.getEjectionDuration().toNanos();
+    }
+
+    /**
+     * @param exclude instance không được chọn (instance của lời gọi đầu tiên khi gửi lại); có thể là {@code null}
+     * @return instance cho lời gọi tiếp theo, hoặc {@code null} nếu không còn instance nào khác {@code exclude}
+     */
+    public Endpoint choose(Endpoint exclude) {
+        Endpoint[] candidates = new Endpoint[endpoints.size()];
+        int count = 0;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint != exclude && !endpoint.isEjected()) {
+                candidates[count++] = endpoint;
+            }
+        }
+        if (count == 0) {
+            for (Endpoint endpoint : endpoints) {
+                if (endpoint != exclude) {
+                    candidates[count++] = endpoint;
+                }
+            }
+        }
+        if (count <= 1) {
+            return count == 1 ? candidates[0] : null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(count);
+        int second = random.nextInt(count - 1);
+        if (second >= first) {
+            second++;
+        }
+        // Bằng nhau thì lấy instance bốc được trước, để phân bố vẫn đều khi không có request nào đang chờ.
+        return candidates[second].outstanding.get() < candidates[first].outstanding.get() ? candidates[second] : candidates[first];
+    }
+
+    /**
+     * Ghi nhận một lời gọi bắt đầu trên {@code endpoint}; mỗi lời gọi phải kết thúc bằng {@link #end}.
+     */
+    public void begin(Endpoint endpoint) {
+        endpoint.outstanding.incrementAndGet();
+    }
+
+    /**
+     * @param failed lời gọi lỗi kết nối, timeout hoặc nhận 5xx
+     */
+    public void end(Endpoint endpoint, boolean failed) {
+        endpoint.outstanding.decrementAndGet();
+        if (!failed) {
+            endpoint.consecutiveFailures.set(0);
+            endpoint.ejectedUntil = 0;
+            return;
+        }
+        boolean probation = endpoint.ejectedUntil != 0 && !endpoint.isEjected();
+        if (probation || endpoint.consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            endpoint.consecutiveFailures.set(0);
+            endpoint.ejectedUntil = System.nanoTime() + ejectionNanos;
+        }
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+}
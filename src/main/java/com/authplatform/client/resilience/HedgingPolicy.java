@@ -0,0 +1,98 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.springframework.http.HttpMethod;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+/**
+ * Quyết định khi nào gửi lại một lời gọi idempotent đến instance khác ({@code auth.client.hedging.*}):
+ * sau phân vị {@code percentile} của thời gian phản hồi đã quan sát cho cùng loại lời gọi
+ * (ví dụ {@code GET /api/projects/{id}/endusers}), và chỉ khi {@link RetryBudget} còn suất.
+ */
+public class HedgingPolicy {
+
+    private static final int WINDOW = 512;
+    private static final int RECOMPUTE_INTERVAL = 32;
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    /** Thời gian phản hồi của {@link #WINDOW} lời gọi gần nhất của một loại lời gọi. */
+    private final class Samples {
+        private final AtomicLongArray latencies = new AtomicLongArray(WINDOW);
+        private final AtomicLong count = new AtomicLong();
+        private volatile long percentileNanos = -1;
+
+        void record(long nanos) {
+            long n = count.getAndIncrement();
+            latencies.set((int) (n % WINDOW), nanos);
+            long recorded = n + 1;
+            if (recorded >= minSamples && recorded % RECOMPUTE_INTERVAL == 0) {
+                long[] sorted = new long[(int) Math.min(recorded, WINDOW)];
+                for (int i = 0; i < sorted.length; i++) {
+                    sorted[i] = latencies.get(i);
+                }
+                Arrays.sort(sorted);
+                percentileNanos = sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+            }
+        }
+    }
+
+    private final ConcurrentMap<String, Samples> samplesByRoute = new ConcurrentHashMap<>();
+    private final double percentile;
+    private final long minDelayNanos;
+    private final int minSamples;
+    private final RetryBudget budget;
+
+    public HedgingPolicy(AuthClientProperties.Hedging config) {
+        if (config.getPercentile() <= 0 || config.getPercentile() >= 1) {
+            throw new IllegalArgumentException("Hedging percentile must be between 0 and 1.");
+        }
+        this.percentile = config.getPercentile();
+        this.minDelayNanos = config.getMinDelay().toNanos();
+        this.minSamples = Math.max(RECOMPUTE_INTERVAL, Math.min(WINDOW, config.getMinSamples()));
+        this.budget = new RetryBudget(config.getMaxRatio(), 10);
+    }
+
+    /**
+     * Loại của lời gọi, dùng làm khóa cho thời gian phản hồi: phương thức và path với các id số được thay bằng
+     * {@code {id}}. Chỉ các lời gọi idempotent mới được gửi lại: {@code GET}, {@code HEAD} và xác thực token.
+     *
+     * @return loại của lời gọi, hoặc {@code null} nếu lời gọi không được gửi lại
+     */
+    public static String route(HttpMethod method, String path) {
+        boolean idempotent = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)
+                || (HttpMethod.POST.equals(method) && (path.endsWith("/auth/validate-token") || path.endsWith("/auth/validate-tokens")));
+        return idempotent ? method.name() + " " + NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}") : null;
+    }
+
+    /**
+     * Ghi nhận một lời gọi của {@code route}.
+     *
+     * @return thời gian chờ response (nano giây) trước khi gửi lại, hoặc {@code -1} nếu chưa đủ mẫu
+     */
+    public long begin(String route) {
+        budget.recordCall();
+        Samples samples = samplesByRoute.get(route);
+        long percentileNanos = samples != null ? samples.percentileNanos : -1;
+        return percentileNanos < 0 ? -1 : Math.max(minDelayNanos, percentileNanos);
+    }
+
+    /**
+     * Ghi nhận thời gian phản hồi của một lời gọi thành công (kể cả lời gọi gửi lại).
+     */
+    public void record(String route, long latencyNanos) {
+        samplesByRoute.computeIfAbsent(route, key -> new Samples()).record(latencyNanos);
+    }
+
+    /**
+     * @return {@code true} nếu được phép gửi lại (suất đã được lấy đi)
+     */
+    public boolean tryHedge() {
+        return budget.tryAcquire();
+    }
+}
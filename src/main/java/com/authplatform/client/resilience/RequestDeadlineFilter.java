@@ -0,0 +1,56 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Gắn {@link Deadline} của request đến vào thread xử lý request, lấy từ header {@code auth.client.deadline.header}
+ * (mili giây, hoặc dạng {@code 2s}) hoặc {@code default-budget}. Header không đọc được thì bị bỏ qua.
+ */
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final String header;
+    private final Duration defaultBudget;
+
+    public RequestDeadlineFilter(AuthClientProperties.Deadline config) {
+        this.header = config.getHeader();
+        this.defaultBudget = config.getDefaultBudget();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration budget = budgetOf(request);
+        if (budget == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Deadline.Scope scope = Deadline.after(budget).bind();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+        }
+    }
+
+    private Duration budgetOf(HttpServletRequest request) {
+        String value = header != null ? request.getHeader(header) : null;
+        if (value != null) {
+            try {
+                return DurationStyle.detectAndParse(value.trim(), ChronoUnit.MILLIS);
+            } catch (IllegalArgumentException e) {
+                // Dùng default-budget
+            }
+        }
+        return defaultBudget;
+    }
+}
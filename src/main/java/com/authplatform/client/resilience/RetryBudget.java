@@ -0,0 +1,53 @@
+package com.authplatform.client.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Giới hạn số lời gọi gửi thêm (gửi lại, thử lại) theo tỉ lệ số lời gọi gần đây, để khi dịch vụ quá tải
+ * các lời gọi thêm không nhân tải lên nhiều lần.
+ * <p>
+ * Mỗi lời gọi góp {@code ratio} suất vào quỹ, mỗi lời gọi thêm lấy đi một suất. Quỹ có tối đa {@code reserve}
+ * suất (cũng là số suất ban đầu), nên sau một thời gian yên ắng cũng chỉ có thể gửi thêm {@code reserve} lời gọi.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerCall;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio số lời gọi thêm tối đa trên mỗi lời gọi, ví dụ {@code 0.1} là 10%
+     * @param reserve số suất tối đa được tích lũy
+     */
+    public RetryBudget(double ratio, int reserve) {
+        if (ratio < 0 || reserve < 0) {
+            throw new IllegalArgumentException("Retry budget ratio and reserve must not be negative.");
+        }
+        this.depositPerCall = Math.round(ratio * SCALE);
+        this.capacity = Math.max(reserve * SCALE, depositPerCall);
+        this.balance = new AtomicLong(reserve * SCALE);
+    }
+
+    public void recordCall() {
+        if (depositPerCall > 0 && balance.get() < capacity) {
+            balance.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(capacity, current + deposit));
+        }
+    }
+
+    /**
+     * @return {@code true} nếu còn suất cho một lời gọi thêm (suất đó đã được lấy đi)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.service.AuthOperation;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Thử lại lời gọi đến dịch vụ xác thực khi gặp lỗi tạm thời: lỗi kết nối hoặc timeout ({@link ResourceAccessException})
+ * và {@code 502}/{@code 503}/{@code 504}. Lời gọi không idempotent chỉ được thử lại khi được bật riêng
+ * ({@code auth.client.retry.operations.<tên>.enabled=true}).
+ * <p>
+ * Mức chờ tăng theo cấp số nhân và thời gian chờ thực tế là ngẫu nhiên từ 0 đến mức đó (full jitter), để các
+ * instance không cùng thử lại một lúc. Số lần thử lại bị giới hạn bởi {@link RetryBudget}, và không chờ quá
+ * thời gian còn lại của {@link Deadline}. Lời gọi bị từ chối bởi circuit breaker, giới hạn lời gọi đồng thời
+ * hoặc deadline ({@link CallNotPermittedException}) không được thử lại.
+ */
+public class RetryPolicy {
+
+    private final AuthClientProperties.Retry config;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final RetryBudget budget;
+
+    public RetryPolicy(AuthClientProperties.Retry config) {
+        if (config.getMaxAttempts() < 1) {
+            throw new IllegalArgumentException("Retry max-attempts must be at least 1.");
+        }
+        if (config.getMultiplier() < 1) {
+            throw new IllegalArgumentException("Retry multiplier must be at least 1.");
+        }
+        this.config = config;
+        this.initialBackoffNanos = config.getInitialBackoff().toNanos();
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, config.getMaxBackoff().toNanos());
+        this.budget = new RetryBudget(config.getBudgetRatio(), config.getBudgetReserve());
+    }
+
+    public <T> T execute(AuthOperation operation, Supplier<T> call) {
+        budget.recordCall();
+        int maxAttempts = maxAttempts(operation);
+        long backoffNanos = initialBackoffNanos;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw e;
+                }
+                long delayNanos = backoffNanos > 0 ? ThreadLocalRandom.current().nextLong(backoffNanos + 1) : 0;
+                Deadline deadline = Deadline.current();
+                if (deadline != null && deadline.remainingNanos() <= delayNanos) {
+                    throw e;
+                }
+                if (!budget.tryAcquire()) {
+                    throw e;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoffNanos = Math.min(maxBackoffNanos, (long) (backoffNanos * config.getMultiplier()));
+            }
+        }
+    }
+
+    /**
+     * @return số lần gửi tối đa của {@code operation}; {@code 1} nếu lời gọi không được thử lại
+     */
+    public int maxAttempts(AuthOperation operation) {
+        AuthClientProperties.Retry.Operation override = config.getOperations().get(operation);
+        boolean enabled = override != null && override.getEnabled() != null ? override.getEnabled() : operation.isIdempotent();
+        if (!enabled) {
+            return 1;
+        }
+        return override != null && override.getMaxAttempts() != null ? override.getMaxAttempts() : config.getMaxAttempts();
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpServerErrorException) {
+            int status = ((HttpServerErrorException) e).getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.authplatform.client.resolver;
+
+import com.authplatform.client.annotation.ValidatedUser;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.security.TokenValidator;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tiêm {@link TokenValidationResponse} đã được {@code ReactiveSecurityWebFilter} xác thực vào tham số
+ * {@link ValidatedUser} của controller WebFlux.
+ * Handler không có annotation bảo vệ sẽ nhận giá trị rỗng.
+ */
+public class ReactiveValidatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(ValidatedUser.class) &&
+                TokenValidationResponse.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Mono<Object> resolveArgument(MethodParameter parameter, BindingContext bindingContext, ServerWebExchange exchange) {
+        Object validated = exchange.getAttribute(TokenValidator.VALIDATED_USER_ATTRIBUTE);
+        return Mono.justOrEmpty(validated);
+    }
+}
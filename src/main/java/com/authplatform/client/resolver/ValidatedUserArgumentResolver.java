@@ -0,0 +1,53 @@
+package com.authplatform.client.resolver;
+
+import com.authplatform.client.annotation.ValidatedUser;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.security.TokenValidator;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Tiêm {@link TokenValidationResponse} của EndUser đang gọi vào tham số {@link ValidatedUser} của controller.
+ * Nếu request đã được xác thực bởi {@code @RequiresProjectRole}/{@code @RequiresProjectLevel}
+ * thì dùng lại kết quả đó; nếu không, token sẽ được xác thực tại đây.
+ * Trả về null khi request không có bearer token.
+ */
+public class ValidatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final TokenValidator tokenValidator;
+
+    public ValidatedUserArgumentResolver(TokenValidator tokenValidator) {
+        this.tokenValidator = tokenValidator;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(ValidatedUser.class) &&
+                TokenValidationResponse.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request == null) {
+            return null;
+        }
+
+        Object validated = request.getAttribute(TokenValidator.VALIDATED_USER_ATTRIBUTE);
+        if (validated instanceof TokenValidationResponse) {
+            return validated;
+        }
+
+        if (TokenValidator.extractToken(request) == null) {
+            return null;
+        }
+        return tokenValidator.validate(request);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.metrics.AuthClientMetrics;
+
+/**
+ * Request bị từ chối vì token không hợp lệ hoặc EndUser không có quyền cần thiết.
+ */
+class AccessDeniedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String reason;
+
+    public AccessDeniedException(String message) { this(AuthClientMetrics.DENIED_INVALID_TOKEN, message); }
+
+    public AccessDeniedException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    /**
+     * Lý do từ chối, dùng làm tag {@code reason} của metrics.
+     */
+    public String getReason() { return reason; }
+}
@@ -0,0 +1,178 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.metrics.AuthClientMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thực thi phân quyền trong chuỗi servlet filter, thay cho {@link SecurityAspect}:
+ * không cần proxy AOP cho các bean, và request bị từ chối (401/403) trước khi vào DispatcherServlet.
+ * <p>
+ * Yêu cầu của một request gồm quy tắc URL khớp đầu tiên ({@code auth.client.filter.rules}) và
+ * {@link RequiresProjectRole}/{@link RequiresProjectLevel} trên handler method (tìm qua
+ * {@link RequestMappingHandlerMapping}, được tính một lần cho mỗi method); request phải thỏa cả hai.
+ * Kết quả xác thực được lưu vào request như {@link TokenValidator#validate(HttpServletRequest)}.
+ */
+public class AuthorizationFilter extends OncePerRequestFilter {
+
+    private static final Requirement NONE = new Requirement(null, null);
+
+    private final TokenValidator tokenValidator;
+    private final AuthClientMetrics metrics;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private final boolean annotations;
+    private final RoleIndex roleIndex = new RoleIndex();
+    private final PathRules pathRules;
+    private final ConcurrentMap<Method, Requirement> requirements = new ConcurrentHashMap<>();
+
+    /**
+     * @param handlerMapping handler mapping của Spring MVC, chỉ được lấy ở request đầu tiên
+     */
+    public AuthorizationFilter(TokenValidator tokenValidator, AuthClientMetrics metrics,
+                               AuthClientProperties.Filter config,
+                               ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        this.tokenValidator = tokenValidator;
+        this.metrics = metrics != null ? metrics : AuthClientMetrics.NOOP;
+        this.handlerMapping = handlerMapping;
+        this.annotations = config.isAnnotations();
+        this.pathRules = new PathRules(config.getRules(), roleIndex);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (CorsUtils.isPreFlightRequest(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        Requirement handlerRequirement = NONE;
+        PathRules.Rule rule = null;
+        Object previousPath = request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+        try {
+            RequestPath path = ServletRequestPathUtils.parseAndCache(request);
+            if (!pathRules.isEmpty()) {
+                rule = pathRules.match(request.getMethod(), path.pathWithinApplication());
+            }
+            if (annotations) {
+                handlerRequirement = handlerRequirement(request);
+            }
+        } finally {
+            // DispatcherServlet tự phân tích lại đường dẫn; không để lại attribute mà filter khác không mong đợi.
+            if (previousPath != null) {
+                request.setAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE, previousPath);
+            } else {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+        boolean ruleRequiresToken = rule != null && !rule.permitAll;
+        if (!ruleRequiresToken && handlerRequirement == NONE) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String deniedReason = null;
+        try {
+            TokenValidationResponse user;
+            try {
+                user = tokenValidator.validate(request);
+            } catch (AccessDeniedException e) {
+                deniedReason = e.getReason();
+                if (AuthClientMetrics.DENIED_RATE_LIMITED.equals(deniedReason)) {
+                    response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
+                } else {
+                    response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+                }
+                return;
+            }
+            if (ruleRequiresToken) {
+                deniedReason = check(user, rule.roles, rule.level);
+            }
+            if (deniedReason == null) {
+                deniedReason = check(user, handlerRequirement.roles, handlerRequirement.level);
+            }
+            if (deniedReason != null) {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN, AuthClientMetrics.DENIED_INSUFFICIENT_ROLE.equals(deniedReason)
+                        ? "User does not have the required roles." : "User does not have the required level.");
+                return;
+            }
+        } catch (RuntimeException e) {
+            deniedReason = "error";
+            throw e;
+        } finally {
+            metrics.recordAuthorization("filter", System.nanoTime() - start, deniedReason);
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * @return lý do từ chối, hoặc {@code null} nếu EndUser thỏa yêu cầu
+     */
+    private String check(TokenValidationResponse user, RoleSet roles, Integer level) {
+        if (roles != null && !roleIndex.userRoles(user.getRoles()).intersects(roles)) {
+            return AuthClientMetrics.DENIED_INSUFFICIENT_ROLE;
+        }
+        if (level != null && user.getMaxRoleLevel() < level) {
+            return AuthClientMetrics.DENIED_INSUFFICIENT_LEVEL;
+        }
+        return null;
+    }
+
+    private Requirement handlerRequirement(HttpServletRequest request) {
+        HandlerExecutionChain handler;
+        try {
+            handler = handlerMapping.getObject().getHandler(request);
+        } catch (Exception e) {
+            // Không xác định được handler (ví dụ 405/406): để DispatcherServlet trả lỗi như bình thường.
+            return NONE;
+        }
+        if (handler == null || !(handler.getHandler() instanceof HandlerMethod)) {
+            return NONE;
+        }
+        Method method = ((HandlerMethod) handler.getHandler()).getMethod();
+        Requirement requirement = requirements.get(method);
+        return requirement != null ? requirement : requirements.computeIfAbsent(method, this::requirementOf);
+    }
+
+    private Requirement requirementOf(Method method) {
+        RequiresProjectRole role = method.getAnnotation(RequiresProjectRole.class);
+        RequiresProjectLevel level = method.getAnnotation(RequiresProjectLevel.class);
+        if (role == null && level == null) {
+            return NONE;
+        }
+        return new Requirement(role != null ? roleIndex.require(role.value()) : null, level != null ? level.value() : null);
+    }
+
+    /**
+     * Yêu cầu của annotation trên một handler method.
+     */
+    private static final class Requirement {
+        private final RoleSet roles;
+        private final Integer level;
+
+        private Requirement(RoleSet roles, Integer level) {
+            this.roles = roles;
+            this.level = level;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Các quy tắc {@code auth.client.filter.rules}, được biên dịch một lần khi khởi động.
+ * Pattern không có wildcard/biến được tra bằng HashMap theo đường dẫn đã giải mã và bỏ tham số {@code ;...}
+ * (như {@link PathPattern} so khớp), để {@code /admin;x=1} hay {@code /adm%69n} vẫn khớp quy tắc {@code /admin};
+ * chỉ các pattern còn lại mới phải so khớp lần lượt. Quy tắc khớp đầu tiên theo thứ tự khai báo được áp dụng.
+ */
+class PathRules {
+
+    /**
+     * Một quy tắc đã biên dịch.
+     */
+    static final class Rule {
+        private final int index;
+        private final PathPattern pattern;
+        private final Set<String> methods;
+        final RoleSet roles;
+        final Integer level;
+        final boolean permitAll;
+
+        private Rule(int index, PathPattern pattern, AuthClientProperties.Filter.Rule config, RoleIndex roleIndex) {
+            this.index = index;
+            this.pattern = pattern;
+            this.methods = new HashSet<>();
+            for (String method : config.getMethods()) {
+                methods.add(method.trim().toUpperCase(Locale.ROOT));
+            }
+            this.roles = config.getRoles().isEmpty() ? null : roleIndex.require(config.getRoles());
+            this.level = config.getLevel();
+            this.permitAll = config.isPermitAll();
+        }
+
+        private boolean appliesTo(String method) {
+            return methods.isEmpty() || methods.contains(method);
+        }
+    }
+
+    private final Map<String, List<Rule>> exact = new HashMap<>();
+    private final List<Rule> patterns = new ArrayList<>();
+
+    PathRules(List<AuthClientProperties.Filter.Rule> rules, RoleIndex roleIndex) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        for (int i = 0; i < rules.size(); i++) {
+            AuthClientProperties.Filter.Rule config = rules.get(i);
+            if (config.getPattern() == null || config.getPattern().isEmpty()) {
+                throw new IllegalArgumentException("auth.client.filter.rules[" + i + "].pattern must not be empty.");
+            }
+            PathPattern pattern = parser.parse(parser.initFullPathPattern(config.getPattern()));
+            Rule rule = new Rule(i, pattern, config, roleIndex);
+            if (pattern.hasPatternSyntax()) {
+                patterns.add(rule);
+            } else {
+                exact.computeIfAbsent(pattern.getPatternString(), p -> new ArrayList<>()).add(rule);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return exact.isEmpty() && patterns.isEmpty();
+    }
+
+    /**
+     * @param path đường dẫn trong ứng dụng (không gồm context path)
+     * @return quy tắc khớp đầu tiên, hoặc {@code null}
+     */
+    Rule match(String method, PathContainer path) {
+        Rule found = null;
+        List<Rule> candidates = exact.get(valueToMatch(path));
+        if (candidates != null) {
+            for (Rule rule : candidates) {
+                if (rule.appliesTo(method) && rule.pattern.matches(path)) {
+                    found = rule;
+                    break;
+                }
+            }
+        }
+        // Pattern có wildcard chỉ thắng khi được khai báo trước quy tắc khớp chính xác.
+        for (Rule rule : patterns) {
+            if (found != null && rule.index > found.index) {
+                break;
+            }
+            if (rule.appliesTo(method) && rule.pattern.matches(path)) {
+                return rule;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Đường dẫn dùng để tra quy tắc khớp chính xác: từng segment đã giải mã %-encoding và bỏ tham số matrix.
+     */
+    private static String valueToMatch(PathContainer path) {
+        String value = path.value();
+        if (value.indexOf(';') < 0 && value.indexOf('%') < 0) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (PathContainer.Element element : path.elements()) {
+            builder.append(element instanceof PathContainer.PathSegment
+                    ? ((PathContainer.PathSegment) element).valueToMatch()
+                    : element.value());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.dto.TokenValidationResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thực thi {@link RequiresProjectRole}/{@link RequiresProjectLevel} trên các handler WebFlux.
+ * Handler được tìm qua {@link RequestMappingHandlerMapping}; nếu có annotation, token được xác thực
+ * non-blocking và request bị từ chối (401/403) trước khi đến controller.
+ * Kết quả xác thực được lưu vào attribute {@code validatedUser} của exchange.
+ * <p>
+ * Handler được tìm cho mọi request, kể cả handler đăng ký động sau khi ứng dụng khởi động;
+ * yêu cầu của mỗi handler method chỉ được tính một lần.
+ */
+public class ReactiveSecurityWebFilter implements WebFilter, Ordered {
+
+    private static final Requirement NONE = new Requirement(null, null);
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final ReactiveTokenValidator tokenValidator;
+    private final RoleIndex roleIndex = new RoleIndex();
+    private final ConcurrentMap<Method, Requirement> requirements = new ConcurrentHashMap<>();
+
+    public ReactiveSecurityWebFilter(RequestMappingHandlerMapping handlerMapping, ReactiveTokenValidator tokenValidator) {
+        this.handlerMapping = handlerMapping;
+        this.tokenValidator = tokenValidator;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return handlerMapping.getHandler(exchange)
+                .map(handler -> handler instanceof HandlerMethod ? requirementOf((HandlerMethod) handler) : NONE)
+                .defaultIfEmpty(NONE)
+                .flatMap(requirement -> requirement == NONE
+                        ? chain.filter(exchange)
+                        : authorize(exchange, requirement).then(Mono.defer(() -> chain.filter(exchange))))
+                .onErrorResume(AuthorizationFailure.class, failure -> {
+                    exchange.getResponse().setStatusCode(failure.status);
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    private Mono<Void> authorize(ServerWebExchange exchange, Requirement requirement) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Mono.error(new AuthorizationFailure(HttpStatus.UNAUTHORIZED));
+        }
+        return tokenValidator.validate(authHeader.substring(7))
+                .onErrorMap(AccessDeniedException.class, e -> new AuthorizationFailure(HttpStatus.UNAUTHORIZED))
+                .flatMap(response -> {
+                    if (!requirement.isSatisfiedBy(response, roleIndex)) {
+                        return Mono.error(new AuthorizationFailure(HttpStatus.FORBIDDEN));
+                    }
+                    exchange.getAttributes().put(TokenValidator.VALIDATED_USER_ATTRIBUTE, response);
+                    return Mono.empty();
+                });
+    }
+
+    private Requirement requirementOf(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        Requirement requirement = requirements.get(method);
+        return requirement != null ? requirement : requirements.computeIfAbsent(method, this::requirementOf);
+    }
+
+    private Requirement requirementOf(Method method) {
+        RequiresProjectRole role = method.getAnnotation(RequiresProjectRole.class);
+        RequiresProjectLevel level = method.getAnnotation(RequiresProjectLevel.class);
+        if (role == null && level == null) {
+            return NONE;
+        }
+        return new Requirement(role != null ? roleIndex.require(role.value()) : null, level != null ? level.value() : null);
+    }
+
+    private static final class Requirement {
+        private final RoleSet roles;
+        private final Integer level;
+
+        private Requirement(RoleSet roles, Integer level) {
+            this.roles = roles;
+            this.level = level;
+        }
+
+        boolean isSatisfiedBy(TokenValidationResponse response, RoleIndex roleIndex) {
+            if (roles != null && !roleIndex.userRoles(response.getRoles()).intersects(roles)) {
+                return false;
+            }
+            return level == null || response.getMaxRoleLevel() >= level;
+        }
+    }
+
+    private static final class AuthorizationFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final HttpStatus status;
+
+        private AuthorizationFailure(HttpStatus status) {
+            super(status.getReasonPhrase(), null, false, false);
+            this.status = status;
+        }
+    }
+}
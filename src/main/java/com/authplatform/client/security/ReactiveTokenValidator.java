@@ -0,0 +1,122 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.cache.TokenFingerprint;
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.TokenValidationRequest;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.jwt.JwtVerificationException;
+import com.authplatform.client.jwt.JwtVerifier;
+import com.authplatform.client.jwt.UnknownKeyException;
+import com.authplatform.client.jwt.UnsupportedAlgorithmException;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Phiên bản non-blocking của {@link TokenValidator} cho ứng dụng WebFlux.
+ * Dùng chung cache và bộ xác thực JWT với phiên bản servlet; các lời gọi /validate-token
+ * đồng thời cho cùng một token cũng được gộp làm một.
+ */
+public class ReactiveTokenValidator {
+
+    private final WebClient webClient;
+    private final String validationUrl;
+    private final Duration timeout;
+    private final TokenValidationCache validationCache;
+    private final JwtVerifier jwtVerifier;
+    private final RejectedTokenCache rejectedTokens;
+    private final ConcurrentMap<String, Mono<TokenValidationResponse>> inFlightValidations = new ConcurrentHashMap<>();
+
+    public ReactiveTokenValidator(AuthClientProperties properties, WebClient webClient,
+                                  TokenValidationCache validationCache, JwtVerifier jwtVerifier) {
+        this(properties, webClient, validationCache, jwtVerifier, null);
+    }
+
+    /**
+     * @param rejectedTokens cache các token vừa bị từ chối; {@code null} để tắt
+     */
+    public ReactiveTokenValidator(AuthClientProperties properties, WebClient webClient,
+                                  TokenValidationCache validationCache, JwtVerifier jwtVerifier,
+                                  RejectedTokenCache rejectedTokens) {
+        this.webClient = webClient;
+        this.validationUrl = String.format("%s/api/p/%s/auth/validate-token", properties.getBaseUrl(), properties.getApiKey());
+        this.timeout = properties.getHttp().getReadTimeout();
+        this.validationCache = validationCache;
+        this.jwtVerifier = jwtVerifier;
+        this.rejectedTokens = rejectedTokens;
+    }
+
+    /**
+     * Xác thực token; phát ra lỗi {@code AccessDeniedException} nếu token không hợp lệ hoặc hết hạn.
+     */
+    public Mono<TokenValidationResponse> validate(String token) {
+        if (validationCache != null) {
+            TokenValidationResponse cached = validationCache.get(token);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+        }
+        if (rejectedTokens != null && rejectedTokens.isRejected(token)) {
+            return Mono.error(new AccessDeniedException("Token is invalid or expired."));
+        }
+
+        if (jwtVerifier != null) {
+            try {
+                TokenValidationResponse response = jwtVerifier.verify(token);
+                if (validationCache != null) {
+                    validationCache.put(token, response);
+                }
+                return Mono.just(response);
+            } catch (UnknownKeyException | UnsupportedAlgorithmException e) {
+                // Khóa chưa có trong JWKS (có thể vừa được xoay vòng) hoặc thuật toán lạ: hỏi dịch vụ chính
+            } catch (JwtVerificationException e) {
+                return Mono.error(rejected(token, "Token is invalid or expired."));
+            }
+        }
+
+        String fingerprint = TokenFingerprint.of(token);
+        Mono<TokenValidationResponse> inFlight = inFlightValidations.get(fingerprint);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        // Chỉ xóa đúng lời gọi này: lời gọi mới hơn cho cùng token có thể đã thay chỗ nó.
+        AtomicReference<Mono<TokenValidationResponse>> self = new AtomicReference<>();
+        Mono<TokenValidationResponse> call = validateRemotely(token)
+                .doFinally(signal -> inFlightValidations.remove(fingerprint, self.get()))
+                .cache();
+        self.set(call);
+        Mono<TokenValidationResponse> existing = inFlightValidations.putIfAbsent(fingerprint, call);
+        return existing != null ? existing : call;
+    }
+
+    private Mono<TokenValidationResponse> validateRemotely(String token) {
+        TokenValidationRequest validationRequest = new TokenValidationRequest();
+        validationRequest.setToken(token);
+        // Mốc lấy trước khi gọi HTTP: một lần xóa theo EndUser xảy ra trong lúc đó thắng kết quả này.
+        long stamp = validationCache != null ? validationCache.begin() : 0;
+        return webClient.post().uri(validationUrl).contentType(MediaType.APPLICATION_JSON).bodyValue(validationRequest)
+                .retrieve().bodyToMono(TokenValidationResponse.class).timeout(timeout)
+                .onErrorMap(WebClientResponseException.Unauthorized.class,
+                        e -> rejected(token, "Token is invalid or expired."))
+                .filter(TokenValidationResponse::isValid)
+                .switchIfEmpty(Mono.error(() -> rejected(token, "Token validation failed.")))
+                .doOnNext(response -> {
+                    if (validationCache != null) {
+                        validationCache.put(token, response, stamp);
+                    }
+                });
+    }
+
+    private AccessDeniedException rejected(String token, String message) {
+        if (rejectedTokens != null) {
+            rejectedTokens.reject(token);
+        }
+        return new AccessDeniedException(message);
+    }
+}
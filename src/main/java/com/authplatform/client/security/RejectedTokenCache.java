@@ -0,0 +1,94 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.cache.CacheStats;
+import com.authplatform.client.cache.EvictionPolicy;
+import com.authplatform.client.cache.LocalCache;
+import com.authplatform.client.cache.TokenFingerprint;
+import com.authplatform.client.config.AuthClientProperties;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache âm: SHA-256 của các token vừa bị từ chối (401 từ dịch vụ xác thực, JWT sai chữ ký hoặc hết hạn),
+ * để cùng một token gửi lặp lại bị từ chối ngay mà không gọi /validate-token.
+ * Lỗi tạm thời của dịch vụ xác thực không được ghi nhận.
+ * <p>
+ * Tùy chọn đếm số token không hợp lệ theo địa chỉ client trong một cửa sổ thời gian cố định, để một client
+ * thử nhiều token khác nhau (credential stuffing) không tạo ra lời gọi ra ngoài cho mỗi token.
+ * Địa chỉ client là {@code request.getRemoteAddr()}: sau proxy hoặc load balancer, đó là địa chỉ của proxy
+ * (mọi client dùng chung một cửa sổ), trừ khi ứng dụng đọc {@code X-Forwarded-For}/{@code Forwarded}
+ * ({@code server.forward-headers-strategy=framework} hoặc {@code native}).
+ */
+public class RejectedTokenCache {
+
+    private static final class Window {
+        private final long startedAt;
+        private final int failures;
+
+        private Window(long startedAt, int failures) {
+            this.startedAt = startedAt;
+            this.failures = failures;
+        }
+    }
+
+    private final LocalCache<String, Boolean> rejected;
+    private final ConcurrentMap<String, Window> clients = new ConcurrentHashMap<>();
+    private final int maxFailuresPerClient;
+    private final long windowNanos;
+    private final int maxTrackedClients;
+
+    public RejectedTokenCache(AuthClientProperties.NegativeCache config) {
+        // Token bị từ chối không được đọc lại nhiều hơn token khác: FIFO là đủ và tránh ghi lại thứ tự khi đọc.
+        this.rejected = new LocalCache<>(config.getMaxSize(), config.getTtl(), EvictionPolicy.FIFO);
+        this.maxFailuresPerClient = config.getMaxFailuresPerClient();
+        this.windowNanos = config.getFailureWindow().toNanos();
+        this.maxTrackedClients = config.getMaxTrackedClients();
+    }
+
+    public boolean isRejected(String token) {
+        return rejected.get(TokenFingerprint.of(token)) != null;
+    }
+
+    public void reject(String token) {
+        rejected.put(TokenFingerprint.of(token), Boolean.TRUE);
+    }
+
+    /**
+     * @return {@code true} nếu client này đã gửi quá {@code max-failures-per-client} token không hợp lệ trong cửa sổ hiện tại
+     */
+    public boolean isClientBlocked(String clientAddress) {
+        if (maxFailuresPerClient <= 0 || clientAddress == null) {
+            return false;
+        }
+        Window window = clients.get(clientAddress);
+        return window != null && System.nanoTime() - window.startedAt <= windowNanos
+                && window.failures >= maxFailuresPerClient;
+    }
+
+    public void recordClientFailure(String clientAddress) {
+        if (maxFailuresPerClient <= 0 || clientAddress == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (clients.size() >= maxTrackedClients && !clients.containsKey(clientAddress)) {
+            clients.values().removeIf(window -> now - window.startedAt > windowNanos);
+            if (clients.size() >= maxTrackedClients) {
+                // Quá nhiều client trong cùng cửa sổ: không theo dõi thêm, để bộ nhớ có giới hạn.
+                return;
+            }
+        }
+        clients.compute(clientAddress, (address, window) -> window == null || now - window.startedAt > windowNanos
+                ? new Window(now, 1)
+                : new Window(window.startedAt, window.failures + 1));
+    }
+
+    public void invalidateAll() {
+        rejected.invalidateAll();
+        clients.clear();
+    }
+
+    public CacheStats stats() {
+        return rejected.stats();
+    }
+}
@@ -0,0 +1,61 @@
+package com.authplatform.client.security;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gán cho mỗi tên role một id số nguyên cố định, để việc kiểm tra quyền là phép AND bitmask
+ * thay vì so sánh chuỗi. Mỗi filter/aspect có instance riêng; chỉ các role được annotation hoặc quy tắc URL
+ * yêu cầu mới được gán id, role khác của EndUser bị bỏ qua khi dựng bitmask.
+ */
+final class RoleIndex {
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private int idOf(String role) {
+        Integer id = ids.get(role);
+        return id != null ? id : ids.computeIfAbsent(role, r -> nextId.getAndIncrement());
+    }
+
+    /**
+     * Số role đã được gán id; tăng khi có yêu cầu mới, nên tập role của EndUser dựng trước đó cần dựng lại.
+     */
+    int size() {
+        return nextId.get();
+    }
+
+    /**
+     * Tập role được yêu cầu (annotation hoặc quy tắc URL).
+     */
+    RoleSet require(String[] roles) {
+        RoleSet.Builder builder = new RoleSet.Builder();
+        for (String role : roles) {
+            builder.add(idOf(role));
+        }
+        return builder.build();
+    }
+
+    RoleSet require(Collection<String> roles) {
+        return require(roles.toArray(new String[0]));
+    }
+
+    /**
+     * Tập role của EndUser, chỉ gồm các role đã được yêu cầu ở đâu đó.
+     */
+    RoleSet userRoles(Collection<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return RoleSet.EMPTY;
+        }
+        RoleSet.Builder builder = new RoleSet.Builder();
+        for (String role : roles) {
+            Integer id = ids.get(role);
+            if (id != null) {
+                builder.add(id);
+            }
+        }
+        return builder.build();
+    }
+}
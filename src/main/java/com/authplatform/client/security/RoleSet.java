@@ -0,0 +1,51 @@
+package com.authplatform.client.security;
+
+import java.util.Arrays;
+
+/**
+ * Tập role dạng bitmask, id lấy từ {@link RoleIndex}. Bất biến sau khi tạo.
+ */
+final class RoleSet {
+
+    static final RoleSet EMPTY = new RoleSet(new long[0]);
+
+    private final long[] words;
+
+    private RoleSet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * {@code true} nếu hai tập có ít nhất một role chung. Không cấp phát bộ nhớ.
+     */
+    boolean intersects(RoleSet other) {
+        int n = Math.min(words.length, other.words.length);
+        for (int i = 0; i < n; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class Builder {
+        private long[] words = new long[1];
+
+        Builder add(int id) {
+            int word = id >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            words[word] |= 1L << id;
+            return this;
+        }
+
+        RoleSet build() {
+            int length = words.length;
+            while (length > 0 && words[length - 1] == 0) {
+                length--;
+            }
+            return length == 0 ? EMPTY : new RoleSet(Arrays.copyOf(words, length));
+        }
+    }
+}
@@ -1,91 +1,159 @@
 package com.authplatform.client.security;
 
 import com.authplatform.client.config.AuthClientProperties;
-import com.authplatform.client.dto.TokenValidationRequest;
 import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.metrics.AuthClientMetrics;
 import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Aspect
 public class SecurityAspect {
 
-    private final AuthClientProperties properties;
-    private final RestTemplate restTemplate;
+    private static final String ROLE_SET_ATTRIBUTE = SecurityAspect.class.getName() + ".roleSet";
+
+    private final TokenValidator tokenValidator;
+    private final AuthClientMetrics metrics;
+    private final RoleIndex roleIndex = new RoleIndex();
+    private final ConcurrentMap<Method, RoleRequirement> roleRequirements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, LevelRequirement> levelRequirements = new ConcurrentHashMap<>();
 
     public SecurityAspect(AuthClientProperties properties) {
-        this.properties = properties;
-        this.restTemplate = new RestTemplate();
+        this(new TokenValidator(properties, null));
+    }
+
+    public SecurityAspect(TokenValidator tokenValidator) {
+        this(tokenValidator, AuthClientMetrics.NOOP);
+    }
+
+    public SecurityAspect(TokenValidator tokenValidator, AuthClientMetrics metrics) {
+        this.tokenValidator = tokenValidator;
+        this.metrics = metrics;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
     }
 
     /**
-     * Lấy token từ request, gọi API /validate-token, và trả về response đã được xác thực.
-     * Ném ra lỗi nếu token thiếu, không hợp lệ, hoặc hết hạn.
+     * Tập role (dạng bitmask) của EndUser trong request hiện tại, chỉ dựng một lần cho mỗi request
+     * (dựng lại nếu một method được gọi sau đó yêu cầu role mới).
+     * Token chỉ được xác thực một lần cho mỗi HTTP request, dù có nhiều annotation hay nhiều bean được gọi.
      */
-    private TokenValidationResponse getValidationResponse() {
-        // 1. Lấy request hiện tại để đọc header
-        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        String authHeader = request.getHeader("Authorization");
-
-        // 2. Kiểm tra và lấy token
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new AccessDeniedException("Missing or invalid Authorization header.");
+    private RoleSet getUserRoles(HttpServletRequest request) {
+        TokenValidationResponse user = tokenValidator.validate(request);
+        Object cached = request.getAttribute(ROLE_SET_ATTRIBUTE);
+        if (cached instanceof UserRoles) {
+            UserRoles userRoles = (UserRoles) cached;
+            if (userRoles.user == user && userRoles.knownRoles == roleIndex.size()) {
+                return userRoles.roles;
+            }
         }
-        String token = authHeader.substring(7);
+        int knownRoles = roleIndex.size();
+        RoleSet roles = roleIndex.userRoles(user.getRoles());
+        request.setAttribute(ROLE_SET_ATTRIBUTE, new UserRoles(user, knownRoles, roles));
+        return roles;
+    }
 
-        // 3. Chuẩn bị và gọi đến API /validate-token của dịch vụ chính
-        String validationUrl = String.format("%s/api/p/%s/auth/validate-token", properties.getBaseUrl(), properties.getApiKey());
-        TokenValidationRequest validationRequest = new TokenValidationRequest();
-        validationRequest.setToken(token);
+    private static Method methodOf(JoinPoint joinPoint) {
+        return ((MethodSignature) joinPoint.getSignature()).getMethod();
+    }
 
+    @Before("@annotation(annotation)")
+    public void checkRole(JoinPoint joinPoint, RequiresProjectRole annotation) {
+        long start = System.nanoTime();
+        String deniedReason = null;
         try {
-            TokenValidationResponse response = restTemplate.postForObject(validationUrl, validationRequest, TokenValidationResponse.class);
+            Method method = methodOf(joinPoint);
+            RoleRequirement requirement = roleRequirements.get(method);
+            if (requirement == null) {
+                requirement = roleRequirements.computeIfAbsent(method,
+                        m -> new RoleRequirement(roleIndex.require(annotation.value()), annotation.value()));
+            }
+            if (!getUserRoles(currentRequest()).intersects(requirement.roles)) {
+                throw new AccessDeniedException(AuthClientMetrics.DENIED_INSUFFICIENT_ROLE, requirement.deniedMessage);
+            }
+        } catch (AccessDeniedException e) {
+            deniedReason = e.getReason();
+            throw e;
+        } catch (RuntimeException e) {
+            deniedReason = "error";
+            throw e;
+        } finally {
+            metrics.recordAuthorization("role", System.nanoTime() - start, deniedReason);
+        }
+    }
 
-            // 4. Kiểm tra kết quả trả về
-            if (response == null || !response.isValid()) {
-                throw new AccessDeniedException("Token validation failed.");
+    @Before("@annotation(annotation)")
+    public void checkLevel(JoinPoint joinPoint, RequiresProjectLevel annotation) {
+        long start = System.nanoTime();
+        String deniedReason = null;
+        try {
+            Method method = methodOf(joinPoint);
+            LevelRequirement requirement = levelRequirements.get(method);
+            if (requirement == null) {
+                requirement = levelRequirements.computeIfAbsent(method, m -> new LevelRequirement(annotation.value()));
             }
+            int userLevel = tokenValidator.validate(currentRequest()).getMaxRoleLevel();
+            if (userLevel < requirement.level) {
+                throw new AccessDeniedException(AuthClientMetrics.DENIED_INSUFFICIENT_LEVEL,
+                        requirement.deniedMessagePrefix + userLevel);
+            }
+        } catch (AccessDeniedException e) {
+            deniedReason = e.getReason();
+            throw e;
+        } catch (RuntimeException e) {
+            deniedReason = "error";
+            throw e;
+        } finally {
+            metrics.recordAuthorization("level", System.nanoTime() - start, deniedReason);
+        }
+    }
 
-            // 5. Lưu thông tin user vào request để controller có thể dùng nếu cần
-            request.setAttribute("validatedUser", response);
-            request.setAttribute("validatedUserEmail", response.getEmail());
-            request.setAttribute("validatedUserId", response.getUserId());
+    private static final class UserRoles {
+        private final TokenValidationResponse user;
+        private final int knownRoles;
+        private final RoleSet roles;
 
-            return response;
-        } catch (HttpClientErrorException.Unauthorized e) {
-            throw new AccessDeniedException("Token is invalid or expired.");
+        private UserRoles(TokenValidationResponse user, int knownRoles, RoleSet roles) {
+            this.user = user;
+            this.knownRoles = knownRoles;
+            this.roles = roles;
         }
     }
 
-    @Before("@annotation(annotation)")
-    public void checkRole(RequiresProjectRole annotation) {
-        TokenValidationResponse response = getValidationResponse();
-        Set<String> userRoles = response.getRoles() != null ? response.getRoles() : Collections.emptySet();
-        boolean hasRole = Arrays.stream(annotation.value()).anyMatch(userRoles::contains);
-        if (!hasRole) {
-            throw new AccessDeniedException("User does not have the required roles: " + Arrays.toString(annotation.value()));
+    /**
+     * Yêu cầu của {@link RequiresProjectRole} trên một method, được tính một lần ở lần gọi đầu tiên.
+     */
+    private static final class RoleRequirement {
+        private final RoleSet roles;
+        private final String deniedMessage;
+
+        private RoleRequirement(RoleSet roles, String[] roleNames) {
+            this.roles = roles;
+            this.deniedMessage = "User does not have the required roles: " + Arrays.toString(roleNames);
         }
     }
 
-    @Before("@annotation(annotation)")
-    public void checkLevel(RequiresProjectLevel annotation) {
-        TokenValidationResponse response = getValidationResponse();
-        int requiredLevel = annotation.value();
-        int userLevel = response.getMaxRoleLevel();
-        if (userLevel < requiredLevel) {
-            throw new AccessDeniedException("User does not have the required level. Required: " + requiredLevel + ", Found: " + userLevel);
+    /**
+     * Yêu cầu của {@link RequiresProjectLevel} trên một method, được tính một lần ở lần gọi đầu tiên.
+     */
+    private static final class LevelRequirement {
+        private final int level;
+        private final String deniedMessagePrefix;
+
+        private LevelRequirement(int level) {
+            this.level = level;
+            this.deniedMessagePrefix = "User does not have the required level. Required: " + level + ", Found: ";
         }
     }
 }
-
-class AccessDeniedException extends RuntimeException {
-    public AccessDeniedException(String message) { super(message); }
-}
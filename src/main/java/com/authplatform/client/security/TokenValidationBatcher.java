@@ -0,0 +1,237 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.BatchTokenValidationRequest;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.resilience.DeadlineExceededException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Gom các yêu cầu xác thực token trong một khoảng thời gian ngắn thành một lời gọi batch,
+ * rồi trả kết quả về cho từng thread đang chờ.
+ * Server trả về một mảng {@link TokenValidationResponse} theo đúng thứ tự token đã gửi.
+ * <p>
+ * Độ trễ thêm vào bị chặn: hàng đợi có giới hạn ({@code max-queue-size}) và khi đầy thì token được xác thực
+ * riêng; thread gọi chỉ chờ kết quả trong {@code max-wait} cộng các timeout HTTP, và không quá {@link Deadline}
+ * của request. Lời gọi batch chạy với deadline muộn nhất trong các thread đang chờ (không có deadline nếu một
+ * thread không có), nên timeout HTTP cũng theo deadline của request.
+ */
+public class TokenValidationBatcher implements AutoCloseable {
+
+    private final RestTemplate restTemplate;
+    private final String batchUrl;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long resultTimeoutNanos;
+    private final BlockingQueue<PendingValidation> queue;
+    private final Semaphore sendPermits;
+    private final Thread collector;
+    private final ExecutorService senders;
+    private volatile boolean running = true;
+
+    public TokenValidationBatcher(AuthClientProperties properties, RestTemplate restTemplate) {
+        AuthClientProperties.BatchValidation config = properties.getBatchValidation();
+        AuthClientProperties.Http http = properties.getHttp();
+        String path = config.getPath() != null
+                ? config.getPath()
+                : String.format("/api/p/%s/auth/validate-tokens", properties.getApiKey());
+        this.restTemplate = restTemplate;
+        this.batchUrl = properties.getBaseUrl() + path;
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.maxWaitNanos = config.getMaxWait().toNanos();
+        // Một token chờ tối đa: gom batch, lấy connection, kết nối và đọc response.
+        this.resultTimeoutNanos = config.getMaxWait()
+                .plus(http.getConnectionRequestTimeout())
+                .plus(http.getConnectTimeout())
+                .plus(http.getReadTimeout())
+                .toNanos();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getMaxQueueSize()));
+        int maxConcurrentBatches = Math.max(1, config.getMaxConcurrentBatches());
+        this.sendPermits = new Semaphore(maxConcurrentBatches);
+        AtomicInteger senderIndex = new AtomicInteger();
+        // Collector chỉ giao batch khi có suất gửi, nên hàng đợi của executor không bao giờ vượt quá số thread.
+        this.senders = new ThreadPoolExecutor(maxConcurrentBatches, maxConcurrentBatches, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrentBatches), r -> {
+                    Thread thread = new Thread(r, "auth-client-batch-sender-" + senderIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.collector = new Thread(this::collectBatches, "auth-client-batch-collector");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    /**
+     * Đưa token vào batch kế tiếp và chờ kết quả.
+     * Lỗi HTTP của lời gọi batch được ném lại nguyên vẹn cho mọi thread trong batch.
+     *
+     * @param direct xác thực riêng token này, dùng khi hàng đợi đã đầy
+     * @throws ResourceAccessException nếu không có kết quả sau {@code max-wait} cộng các timeout HTTP
+     * @throws DeadlineExceededException nếu deadline của request hết trước khi có kết quả
+     */
+    public TokenValidationResponse validate(String token, Supplier<TokenValidationResponse> direct) {
+        if (!running) {
+            throw new IllegalStateException("Token validation batcher is closed.");
+        }
+        Deadline deadline = Deadline.current();
+        PendingValidation pending = new PendingValidation(token, deadline);
+        if (!queue.offer(pending)) {
+            return direct.get();
+        }
+        long timeoutNanos = deadline != null ? Math.min(resultTimeoutNanos, deadline.remainingNanos()) : resultTimeoutNanos;
+        try {
+            return pending.result.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Chưa được gửi thì bỏ khỏi hàng đợi; đã gửi thì kết quả đến sau sẽ không ai đọc.
+            queue.remove(pending);
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException("Request deadline exceeded while waiting for batch token validation.");
+            }
+            throw new ResourceAccessException("Timed out waiting for batch token validation.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.remove(pending);
+            throw new ResourceAccessException("Interrupted while waiting for batch token validation.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void collectBatches() {
+        while (running) {
+            List<PendingValidation> batch = null;
+            try {
+                sendPermits.acquire();
+                PendingValidation first = queue.take();
+                batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingValidation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                List<PendingValidation> toSend = batch;
+                senders.execute(() -> {
+                    try {
+                        send(toSend);
+                    } finally {
+                        sendPermits.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(batch, new IllegalStateException("Token validation batcher is closed."));
+                return;
+            } catch (RejectedExecutionException e) {
+                sendPermits.release();
+                fail(batch, new IllegalStateException("Token validation batcher is closed.", e));
+            }
+        }
+    }
+
+    private void send(List<PendingValidation> batch) {
+        Deadline deadline = latestDeadline(batch);
+        Deadline.Scope scope = deadline != null ? deadline.bind() : null;
+        try {
+            List<String> tokens = new ArrayList<>(batch.size());
+            for (PendingValidation pending : batch) {
+                tokens.add(pending.token);
+            }
+            TokenValidationResponse[] responses = restTemplate.postForObject(
+                    batchUrl, new BatchTokenValidationRequest(tokens), TokenValidationResponse[].class);
+            if (responses == null || responses.length != batch.size()) {
+                throw new IllegalStateException("Batch validation returned "
+                        + (responses == null ? 0 : responses.length) + " results for " + batch.size() + " tokens.");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(responses[i]);
+            }
+        } catch (Throwable e) {
+            // Kể cả Error: không thread nào được chờ mãi một batch đã hỏng.
+            fail(batch, e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+        } finally {
+            if (scope != null) {
+                scope.close();
+            }
+        }
+    }
+
+    /**
+     * @return deadline muộn nhất của batch, hoặc {@code null} nếu có thread chờ không có deadline
+     */
+    private static Deadline latestDeadline(List<PendingValidation> batch) {
+        Deadline latest = null;
+        for (PendingValidation pending : batch) {
+            if (pending.deadline == null) {
+                return null;
+            }
+            if (latest == null || pending.deadline.remainingNanos() > latest.remainingNanos()) {
+                latest = pending.deadline;
+            }
+        }
+        return latest;
+    }
+
+    private static void fail(List<PendingValidation> batch, Throwable error) {
+        if (batch == null) {
+            return;
+        }
+        for (PendingValidation pending : batch) {
+            pending.result.completeExceptionally(error);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        collector.interrupt();
+        senders.shutdownNow();
+        IllegalStateException closed = new IllegalStateException("Token validation batcher is closed.");
+        PendingValidation pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(closed);
+        }
+    }
+
+    private static final class PendingValidation {
+        private final String token;
+        private final Deadline deadline;
+        private final CompletableFuture<TokenValidationResponse> result = new CompletableFuture<>();
+
+        private PendingValidation(String token, Deadline deadline) {
+            this.token = token;
+            this.deadline = deadline;
+        }
+    }
+}
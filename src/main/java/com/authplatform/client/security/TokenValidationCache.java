@@ -0,0 +1,133 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.cache.CacheStats;
+import com.authplatform.client.cache.InvalidationListener;
+import com.authplatform.client.cache.InvalidationStamps;
+import com.authplatform.client.cache.LocalCache;
+import com.authplatform.client.cache.TokenExpiry;
+import com.authplatform.client.cache.TokenFingerprint;
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.TokenValidationResponse;
+
+import java.time.Duration;
+
+/**
+ * Cache cục bộ cho kết quả /validate-token, khóa theo SHA-256 của bearer token.
+ * Chỉ các kết quả hợp lệ mới được lưu, và không lâu hơn claim {@code exp} của token (kể cả thời gian giữ lại).
+ * <p>
+ * Xóa theo EndUser dùng {@link InvalidationStamps}, như {@code EndUserProfileCache}. Đăng ký với một
+ * {@link com.authplatform.client.cache.InvalidationBus} để nhận sự kiện xóa từ các instance khác.
+ */
+public class TokenValidationCache implements InvalidationListener {
+
+    private static final class Entry {
+        private final TokenValidationResponse response;
+        private final long stamp;
+        /** {@code System.nanoTime()} lúc token hết hạn; {@link Long#MAX_VALUE} nếu token không có {@code exp}. */
+        private final long tokenExpiresAt;
+
+        private Entry(TokenValidationResponse response, long stamp, long tokenExpiresAt) {
+            this.response = response;
+            this.stamp = stamp;
+            this.tokenExpiresAt = tokenExpiresAt;
+        }
+    }
+
+    private final LocalCache<String, Entry> cache;
+    private final InvalidationStamps<String> invalidations;
+
+    public TokenValidationCache(AuthClientProperties.ValidationCache config) {
+        this(config, Duration.ZERO);
+    }
+
+    /**
+     * @param staleRetention thời gian giữ lại kết quả sau khi hết TTL, để dùng tạm khi dịch vụ xác thực gặp sự cố
+     */
+    public TokenValidationCache(AuthClientProperties.ValidationCache config, Duration staleRetention) {
+        this.cache = new LocalCache<>(config.getMaxSize(), config.getTtl(), config.getEvictionPolicy(), staleRetention);
+        this.invalidations = new InvalidationStamps<>(config.getMaxSize(), config.getTtl().plus(staleRetention));
+    }
+
+    public TokenValidationResponse get(String token) {
+        return current(token, cache.get(TokenFingerprint.of(token)));
+    }
+
+    /**
+     * Trả về kết quả đã hết TTL nhưng vẫn trong thời gian giữ lại, hoặc null.
+     */
+    public TokenValidationResponse getStale(String token) {
+        return current(token, cache.getStale(TokenFingerprint.of(token)));
+    }
+
+    private TokenValidationResponse current(String token, Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        if (entry.tokenExpiresAt != Long.MAX_VALUE && entry.tokenExpiresAt - System.nanoTime() <= 0) {
+            cache.invalidate(TokenFingerprint.of(token));
+            return null;
+        }
+        if (isInvalidatedSince(entry.response.getUserId(), entry.stamp)) {
+            cache.invalidate(TokenFingerprint.of(token));
+            return null;
+        }
+        return entry.response;
+    }
+
+    /**
+     * Mốc của một lần xác thực; lấy trước khi gọi HTTP và truyền lại cho {@link #put(String, TokenValidationResponse, long)}.
+     */
+    long begin() {
+        return invalidations.begin();
+    }
+
+    /**
+     * @return {@code true} nếu kết quả của EndUser này đã bị xóa sau mốc {@code stamp}
+     */
+    boolean isInvalidatedSince(String userId, long stamp) {
+        return invalidations.isInvalidatedSince(userId, stamp);
+    }
+
+    public void put(String token, TokenValidationResponse response) {
+        put(token, response, begin());
+    }
+
+    void put(String token, TokenValidationResponse response, long stamp) {
+        Duration remaining = TokenExpiry.remaining(token);
+        if (remaining == null) {
+            cache.put(TokenFingerprint.of(token), new Entry(response, stamp, Long.MAX_VALUE));
+        } else if (remaining.compareTo(Duration.ZERO) > 0) {
+            cache.put(TokenFingerprint.of(token), new Entry(response, stamp, System.nanoTime() + remaining.toNanos()), remaining);
+        }
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(TokenFingerprint.of(token));
+    }
+
+    /**
+     * Xóa kết quả của EndUser này khỏi cache, với mọi token của EndUser.
+     */
+    public void invalidateUser(String userId) {
+        invalidations.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        invalidations.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void userInvalidated(String userId) {
+        invalidateUser(userId);
+    }
+
+    @Override
+    public void allInvalidated() {
+        invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,279 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.cache.SharedValidationStore;
+import com.authplatform.client.cache.SingleFlight;
+import com.authplatform.client.cache.TokenFingerprint;
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.TokenValidationRequest;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.jwt.JwtVerificationException;
+import com.authplatform.client.jwt.JwtVerifier;
+import com.authplatform.client.jwt.UnknownKeyException;
+import com.authplatform.client.jwt.UnsupportedAlgorithmException;
+import com.authplatform.client.metrics.AuthClientMetrics;
+import com.authplatform.client.resilience.CallNotPermittedException;
+import com.authplatform.client.resilience.CircuitBreaker;
+import com.authplatform.client.service.AuthOperation;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Xác thực bearer token của EndUser với dịch vụ xác thực chính.
+ * Kết quả được lưu vào request để mỗi HTTP request chỉ phải xác thực một lần.
+ */
+public class TokenValidator {
+
+    private static final Log log = LogFactory.getLog(TokenValidator.class);
+
+    public static final String VALIDATED_USER_ATTRIBUTE = "validatedUser";
+    public static final String VALIDATED_USER_EMAIL_ATTRIBUTE = "validatedUserEmail";
+    public static final String VALIDATED_USER_ID_ATTRIBUTE = "validatedUserId";
+
+    private final AuthClientProperties properties;
+    private final RestTemplate restTemplate;
+    private final TokenValidationCache validationCache;
+    private final JwtVerifier jwtVerifier;
+    private final TokenValidationBatcher batcher;
+    private final CircuitBreaker circuitBreaker;
+    private final AuthClientMetrics metrics;
+    private final RejectedTokenCache rejectedTokens;
+    private final SharedValidationStore sharedStore;
+    private final String validationUrl;
+    private final SingleFlight<String, TokenValidationResponse> inFlightValidations = new SingleFlight<>();
+
+    /**
+     * @param validationCache cache kết quả xác thực token; {@code null} để luôn gọi /validate-token
+     */
+    public TokenValidator(AuthClientProperties properties, TokenValidationCache validationCache) {
+        this(properties, new RestTemplate(), validationCache, null, null, null, null);
+    }
+
+    public TokenValidator(AuthClientProperties properties, RestTemplate restTemplate,
+                          TokenValidationCache validationCache, JwtVerifier jwtVerifier,
+                          TokenValidationBatcher batcher, CircuitBreaker circuitBreaker,
+                          AuthClientMetrics metrics) {
+        this(properties, restTemplate, validationCache, jwtVerifier, batcher, circuitBreaker, metrics, null, null);
+    }
+
+    public TokenValidator(AuthClientProperties properties, RestTemplate restTemplate,
+                          TokenValidationCache validationCache, JwtVerifier jwtVerifier,
+                          TokenValidationBatcher batcher, CircuitBreaker circuitBreaker,
+                          AuthClientMetrics metrics, RejectedTokenCache rejectedTokens) {
+        this(properties, restTemplate, validationCache, jwtVerifier, batcher, circuitBreaker, metrics, rejectedTokens, null);
+    }
+
+    /**
+     * @param jwtVerifier bộ xác thực JWT cục bộ; {@code null} để xác thực mọi token qua /validate-token
+     * @param batcher gom các lời gọi xác thực thành batch; {@code null} để gọi /validate-token cho từng token
+     * @param circuitBreaker circuit breaker cho lời gọi xác thực token; {@code null} để tắt
+     * @param metrics nơi ghi nhận metrics; {@code null} để tắt
+     * @param rejectedTokens cache các token vừa bị từ chối; {@code null} để tắt
+     * @param sharedStore cache cấp hai dùng chung giữa các instance; {@code null} để tắt
+     */
+    public TokenValidator(AuthClientProperties properties, RestTemplate restTemplate,
+                          TokenValidationCache validationCache, JwtVerifier jwtVerifier,
+                          TokenValidationBatcher batcher, CircuitBreaker circuitBreaker,
+                          AuthClientMetrics metrics, RejectedTokenCache rejectedTokens,
+                          SharedValidationStore sharedStore) {
+        this.properties = properties;
+        this.restTemplate = restTemplate;
+        this.validationCache = validationCache;
+        this.jwtVerifier = jwtVerifier;
+        this.batcher = batcher;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics != null ? metrics : AuthClientMetrics.NOOP;
+        this.rejectedTokens = rejectedTokens;
+        this.sharedStore = sharedStore;
+        this.validationUrl = String.format("%s/api/p/%s/auth/validate-token", properties.getBaseUrl(), properties.getApiKey());
+    }
+
+    /**
+     * Lấy token từ request và trả về response đã được xác thực.
+     * Nếu request này đã được xác thực trước đó thì dùng lại kết quả, không gọi lại dịch vụ chính.
+     * Ném ra lỗi nếu token thiếu, không hợp lệ, hoặc hết hạn.
+     */
+    public TokenValidationResponse validate(HttpServletRequest request) {
+        // 1. Request đã được xác thực (bởi một advice hoặc resolver khác) thì dùng lại
+        Object validated = request.getAttribute(VALIDATED_USER_ATTRIBUTE);
+        if (validated instanceof TokenValidationResponse) {
+            return (TokenValidationResponse) validated;
+        }
+
+        // 2. Kiểm tra và lấy token
+        String token = extractToken(request);
+        if (token == null) {
+            throw new AccessDeniedException(AuthClientMetrics.DENIED_MISSING_HEADER, "Missing or invalid Authorization header.");
+        }
+
+        // 3. Xác thực và lưu thông tin user vào request để controller có thể dùng nếu cần
+        TokenValidationResponse response = rejectedTokens != null ? validate(token, request.getRemoteAddr()) : validate(token);
+        request.setAttribute(VALIDATED_USER_ATTRIBUTE, response);
+        request.setAttribute(VALIDATED_USER_EMAIL_ATTRIBUTE, response.getEmail());
+        request.setAttribute(VALIDATED_USER_ID_ATTRIBUTE, response.getUserId());
+        return response;
+    }
+
+    /**
+     * Client đã gửi quá nhiều token không hợp lệ chỉ còn được chấp nhận với token đang có trong cache.
+     */
+    private TokenValidationResponse validate(String token, String clientAddress) {
+        if (rejectedTokens.isClientBlocked(clientAddress)) {
+            TokenValidationResponse cached = validationCache != null ? validationCache.get(token) : null;
+            if (cached == null) {
+                throw new AccessDeniedException(AuthClientMetrics.DENIED_RATE_LIMITED, "Too many invalid tokens from this client.");
+            }
+            return cached;
+        }
+        if (rejectedTokens.isRejected(token)) {
+            // Token đã biết là không hợp lệ không tốn lời gọi nào, nên không tính vào giới hạn của client.
+            throw new AccessDeniedException("Token is invalid or expired.");
+        }
+        try {
+            return validate(token);
+        } catch (AccessDeniedException e) {
+            rejectedTokens.recordClientFailure(clientAddress);
+            throw e;
+        }
+    }
+
+    /**
+     * Xác thực một token cụ thể, ưu tiên dùng kết quả còn trong cache.
+     */
+    public TokenValidationResponse validate(String token) {
+        if (validationCache != null) {
+            TokenValidationResponse cached = validationCache.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (rejectedTokens != null && rejectedTokens.isRejected(token)) {
+            throw new AccessDeniedException("Token is invalid or expired.");
+        }
+
+        if (jwtVerifier != null) {
+            try {
+                TokenValidationResponse response = jwtVerifier.verify(token);
+                if (validationCache != null) {
+                    validationCache.put(token, response);
+                }
+                return response;
+            } catch (UnknownKeyException | UnsupportedAlgorithmException e) {
+                // Khóa chưa có trong JWKS (có thể vừa được xoay vòng) hoặc thuật toán lạ: hỏi dịch vụ chính
+            } catch (JwtVerificationException e) {
+                throw rejected(token, "Token is invalid or expired.");
+            }
+        }
+
+        // Các request đồng thời mang cùng token chỉ tạo ra một lời gọi /validate-token
+        String fingerprint = TokenFingerprint.of(token);
+        return inFlightValidations.execute(fingerprint, () -> {
+            // Lời gọi trước đó có thể vừa hoàn tất và lưu kết quả vào cache
+            if (validationCache != null) {
+                TokenValidationResponse cached = validationCache.get(token);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            // Mốc lấy trước khi đọc cache cấp hai hoặc gọi HTTP: một lần xóa xảy ra trong lúc đó thắng kết quả này.
+            long stamp = validationCache != null ? validationCache.begin() : 0;
+            TokenValidationResponse shared = getShared(fingerprint);
+            if (shared != null) {
+                if (validationCache != null) {
+                    validationCache.put(token, shared, stamp);
+                }
+                return shared;
+            }
+            return validateRemotely(token, fingerprint, stamp);
+        });
+    }
+
+    private TokenValidationResponse getShared(String fingerprint) {
+        if (sharedStore == null) {
+            return null;
+        }
+        try {
+            return sharedStore.get(fingerprint);
+        } catch (RuntimeException e) {
+            log.warn("Shared validation store lookup failed; validating token remotely.", e);
+            return null;
+        }
+    }
+
+    private void putShared(String fingerprint, TokenValidationResponse response) {
+        if (sharedStore == null) {
+            return;
+        }
+        try {
+            sharedStore.put(fingerprint, response, properties.getSharedCache().getTtl());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write token validation to shared store.", e);
+        }
+    }
+
+    private TokenValidationResponse validateRemotely(String token, String fingerprint, long stamp) {
+        TokenValidationResponse response;
+        try {
+            response = metrics.recordCall(AuthOperation.VALIDATE, () -> circuitBreaker != null
+                    ? circuitBreaker.execute(() -> fetchValidation(token))
+                    : fetchValidation(token));
+        } catch (HttpClientErrorException.Unauthorized e) {
+            throw rejected(token, "Token is invalid or expired.");
+        } catch (CallNotPermittedException | RestClientException e) {
+            // Dịch vụ xác thực đang gặp sự cố: tạm dùng kết quả vừa hết hạn (nếu được cấu hình)
+            TokenValidationResponse stale = validationCache != null && !(e instanceof HttpClientErrorException)
+                    ? validationCache.getStale(token)
+                    : null;
+            if (stale == null) {
+                throw e;
+            }
+            return stale;
+        }
+
+        if (response == null) {
+            throw new AccessDeniedException("Token validation failed.");
+        }
+        if (!response.isValid()) {
+            throw rejected(token, "Token validation failed.");
+        }
+        if (validationCache != null) {
+            validationCache.put(token, response, stamp);
+        }
+        // EndUser vừa bị xóa khỏi cache trong lúc gọi HTTP: không ghi lại kết quả có thể đã cũ cho các instance khác.
+        if (validationCache == null || !validationCache.isInvalidatedSince(response.getUserId(), stamp)) {
+            putShared(fingerprint, response);
+        }
+        return response;
+    }
+
+    private AccessDeniedException rejected(String token, String message) {
+        if (rejectedTokens != null) {
+            rejectedTokens.reject(token);
+        }
+        return new AccessDeniedException(message);
+    }
+
+    private TokenValidationResponse fetchValidation(String token) {
+        return batcher != null ? batcher.validate(token, () -> callValidateToken(token)) : callValidateToken(token);
+    }
+
+    private TokenValidationResponse callValidateToken(String token) {
+        TokenValidationRequest validationRequest = new TokenValidationRequest();
+        validationRequest.setToken(token);
+        return restTemplate.postForObject(validationUrl, validationRequest, TokenValidationResponse.class);
+    }
+
+    /**
+     * Trả về bearer token trong header Authorization, hoặc null nếu không có.
+     */
+    public static String extractToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        return authHeader.substring(7);
+    }
+}
@@ -0,0 +1,175 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.AuthResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Giữ một token quản trị dùng chung cho các phương thức quản trị không nhận token của {@link AuthClient}.
+ * <p>
+ * Token được đọc không cần khóa. Token được đăng nhập lại ở background trước khi hết hạn
+ * ({@code renew-before} trước {@code exp} của JWT), và mọi lần đăng nhập đều đi qua một khóa,
+ * nên tại mỗi thời điểm chỉ có tối đa một lời gọi đăng nhập.
+ */
+class AdminTokenManager implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(AdminTokenManager.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final class Token {
+        private final String value;
+        private final long expiresAtMillis;
+
+        private Token(String value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isUsable(long nowMillis) {
+            return nowMillis < expiresAtMillis;
+        }
+    }
+
+    private final Supplier<AuthResponse> login;
+    private final AuthClientProperties.Admin config;
+    private final Lock loginLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Token current;
+
+    /**
+     * @param login đăng nhập bằng tài khoản quản trị đã cấu hình
+     */
+    AdminTokenManager(Supplier<AuthResponse> login, AuthClientProperties.Admin config) {
+        this.login = login;
+        this.config = config;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "auth-client-admin-token");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Token hiện tại; chỉ chặn thread gọi khi chưa có token hoặc token đã hết hạn.
+     */
+    String getToken() {
+        Token token = current;
+        if (token != null && token.isUsable(System.currentTimeMillis())) {
+            return token.value;
+        }
+        loginLock.lock();
+        try {
+            token = current;
+            if (token == null || !token.isUsable(System.currentTimeMillis())) {
+                token = login();
+            }
+            return token.value;
+        } finally {
+            loginLock.unlock();
+        }
+    }
+
+    /**
+     * Bỏ token đã bị server từ chối (ví dụ bị thu hồi), để lần gọi sau đăng nhập lại.
+     * Không làm gì nếu token hiện tại đã là token khác.
+     */
+    void invalidate(String rejectedToken) {
+        Token token = current;
+        if (token != null && token.value.equals(rejectedToken)) {
+            loginLock.lock();
+            try {
+                if (current == token) {
+                    current = null;
+                }
+            } finally {
+                loginLock.unlock();
+            }
+        }
+    }
+
+    private Token login() {
+        AuthResponse response = login.get();
+        if (response == null || response.getAccessToken() == null || response.getAccessToken().isEmpty()) {
+            throw new IllegalStateException("Admin login did not return an access token.");
+        }
+        String value = response.getAccessToken();
+        long now = System.currentTimeMillis();
+        Long expiresAt = expiresAtMillis(value);
+        Token token = new Token(value, expiresAt != null ? expiresAt : now + config.getTokenLifetime().toMillis());
+        current = token;
+        scheduleRenewal(token, now);
+        return token;
+    }
+
+    private void scheduleRenewal(Token token, long nowMillis) {
+        long lifetime = token.expiresAtMillis - nowMillis;
+        long renewBefore = config.getRenewBefore().toMillis();
+        // Token ngắn hạn hơn 2 lần renew-before: làm mới ở nửa thời gian sống.
+        long delay = lifetime > 2 * renewBefore ? lifetime - renewBefore : lifetime / 2;
+        schedule(token, Math.max(0, delay));
+    }
+
+    private void schedule(Token token, long delayMillis) {
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(() -> renew(token), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void renew(Token due) {
+        loginLock.lock();
+        try {
+            if (current != due) {
+                // Đã có token mới (đăng nhập trên thread gọi), lịch làm mới của token đó đã được đặt.
+                return;
+            }
+            login();
+        } catch (RuntimeException e) {
+            long retry = config.getRetryInterval().toMillis();
+            if (due.isUsable(System.currentTimeMillis() + retry)) {
+                log.warn("Could not renew admin token, retrying in " + config.getRetryInterval() + ": " + e.getMessage());
+                schedule(due, retry);
+            } else {
+                // Token hết hạn trước lần thử tiếp: lần gọi kế tiếp sẽ đăng nhập lại trên thread gọi.
+                log.warn("Could not renew admin token: " + e.getMessage());
+            }
+        } finally {
+            loginLock.unlock();
+        }
+    }
+
+    /**
+     * Thời điểm hết hạn ({@code exp}) nếu token là JWT, hoặc null. Không kiểm tra chữ ký.
+     */
+    static Long expiresAtMillis(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            JsonNode exp = OBJECT_MAPPER.readTree(new String(payload, StandardCharsets.UTF_8)).get("exp");
+            return exp != null && exp.canConvertToLong() ? Duration.ofSeconds(exp.asLong()).toMillis() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
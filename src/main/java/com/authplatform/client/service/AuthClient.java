@@ -1,27 +1,140 @@
 package com.authplatform.client.service;
 
+import com.authplatform.client.cache.InvalidationBus;
+import com.authplatform.client.cache.SharedValidationStore;
+import com.authplatform.client.cache.SingleFlight;
+import com.authplatform.client.cache.TokenFingerprint;
 import com.authplatform.client.config.AuthClientProperties;
 import com.authplatform.client.dto.*;
+import com.authplatform.client.metrics.AuthClientMetrics;
+import com.authplatform.client.resilience.CallNotPermittedException;
+import com.authplatform.client.resilience.CircuitBreaker;
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.resilience.RetryPolicy;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * SDK Client để tương tác với tất cả các API của Auth Service Platform.
  * Cung cấp các phương thức tiện ích để che giấu sự phức tạp của việc gọi HTTP.
  */
-public class AuthClient {
+public class AuthClient implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(AuthClient.class);
+
+    /**
+     * Số EndUser mỗi trang mặc định khi duyệt bằng {@link #streamEndUsersForProject(String)}.
+     */
+    public static final int DEFAULT_END_USER_PAGE_SIZE = 500;
+
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
     private final RestTemplate restTemplate;
     private final AuthClientProperties properties;
+    private final Executor asyncExecutor;
+    private final CircuitBreaker circuitBreaker;
+    private final AuthClientMetrics metrics;
+
+    private final Lock projectIdLock = new ReentrantLock();
+    private volatile Long resolvedProjectId;
+
+    /** {@code null} khi {@code auth.client.role-catalog.enabled=false}. */
+    private final ProjectRoleCatalog roleCatalog;
+
+    /** {@code null} khi {@code auth.client.profile-cache.enabled=false}. */
+    private final EndUserProfileCache profileCache;
+    private final SingleFlight<String, EndUserResponse> inFlightProfiles = new SingleFlight<>();
+
+    /** {@code null} khi chưa cấu hình {@code auth.client.admin.email}. */
+    private final AdminTokenManager adminTokenManager;
+
+    /** {@code null} khi {@code auth.client.retry.enabled=false}. */
+    private final RetryPolicy retryPolicy;
 
-    private Long resolvedProjectId = null;
+    /** {@code null} khi không có cache xác thực dùng chung giữa các instance. */
+    private final SharedValidationStore sharedValidationStore;
+    private final InvalidationBus invalidationBus;
 
     public AuthClient(AuthClientProperties properties) {
+        this(properties, new RestTemplate());
+    }
+
+    public AuthClient(AuthClientProperties properties, RestTemplate restTemplate) {
+        this(properties, restTemplate, ForkJoinPool.commonPool(), null, AuthClientMetrics.NOOP);
+    }
+
+    /**
+     * @param asyncExecutor executor chạy các phương thức {@code *Async}
+     * @param circuitBreaker circuit breaker cho các lời gọi của client này; {@code null} để tắt
+     * @param metrics nơi ghi nhận thời gian và kết quả của từng lời gọi
+     */
+    public AuthClient(AuthClientProperties properties, RestTemplate restTemplate, Executor asyncExecutor,
+                      CircuitBreaker circuitBreaker, AuthClientMetrics metrics) {
+        this(properties, restTemplate, asyncExecutor, circuitBreaker, metrics, null, null);
+    }
+
+    /**
+     * @param sharedValidationStore cache xác thực dùng chung, xóa theo EndUser khi EndUser bị khóa
+     *                              hoặc đổi vai trò; {@code null} để tắt
+     * @param invalidationBus kênh báo các instance khác xóa cache xác thực cục bộ; {@code null} để tắt
+     */
+    public AuthClient(AuthClientProperties properties, RestTemplate restTemplate, Executor asyncExecutor,
+                      CircuitBreaker circuitBreaker, AuthClientMetrics metrics,
+                      SharedValidationStore sharedValidationStore, InvalidationBus invalidationBus) {
         this.properties = properties;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = restTemplate;
+        this.asyncExecutor = asyncExecutor;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.roleCatalog = properties.getRoleCatalog().isEnabled() ? new ProjectRoleCatalog() : null;
+        this.profileCache = properties.getProfileCache().isEnabled() ? new EndUserProfileCache(properties.getProfileCache()) : null;
+        this.adminTokenManager = createAdminTokenManager(properties.getAdmin());
+        this.retryPolicy = properties.getRetry().isEnabled() ? new RetryPolicy(properties.getRetry()) : null;
+        this.sharedValidationStore = sharedValidationStore;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Gửi lời gọi HTTP qua circuit breaker (nếu có) và ghi nhận metrics cho {@code operation}.
+     * Khi breaker đang mở, lời gọi bị từ chối ngay bằng {@link CallNotPermittedException}.
+     * Lỗi tạm thời được thử lại theo {@link RetryPolicy}; mỗi lần gửi đi qua breaker và được ghi nhận riêng.
+     */
+    private <T> T execute(AuthOperation operation, Supplier<T> call) {
+        Supplier<T> attempt = () -> metrics.recordCall(operation, () -> circuitBreaker != null ? circuitBreaker.execute(call) : call.get());
+        return retryPolicy != null ? retryPolicy.execute(operation, attempt) : attempt.get();
     }
 
     // ===================================================================
@@ -30,22 +143,22 @@ public class AuthClient {
 
     public ApiResponse registerEndUser(EndUserRegisterRequest request) {
         String url = String.format("%s/api/p/%s/auth/register", properties.getBaseUrl(), properties.getApiKey());
-        return restTemplate.postForObject(url, request, ApiResponse.class);
+        return execute(AuthOperation.REGISTER, () -> restTemplate.postForObject(url, request, ApiResponse.class));
     }
 
     public AuthResponse loginEndUser(EndUserLoginRequest request) {
         String url = String.format("%s/api/p/%s/auth/login", properties.getBaseUrl(), properties.getApiKey());
-        return restTemplate.postForObject(url, request, AuthResponse.class);
+        return execute(AuthOperation.LOGIN, () -> restTemplate.postForObject(url, request, AuthResponse.class));
     }
 
     public ApiResponse forgotPassword(ForgotPasswordRequest request) {
         String url = String.format("%s/api/p/%s/auth/forgot-password", properties.getBaseUrl(), properties.getApiKey());
-        return restTemplate.postForObject(url, request, ApiResponse.class);
+        return execute(AuthOperation.FORGOT_PASSWORD, () -> restTemplate.postForObject(url, request, ApiResponse.class));
     }
 
     public ApiResponse resetPassword(ResetPasswordRequest request) {
         String url = String.format("%s/api/p/%s/auth/reset-password", properties.getBaseUrl(), properties.getApiKey());
-        return restTemplate.postForObject(url, request, ApiResponse.class);
+        return execute(AuthOperation.RESET_PASSWORD, () -> restTemplate.postForObject(url, request, ApiResponse.class));
     }
 
     // ===================================================================
@@ -62,61 +175,236 @@ public class AuthClient {
         return headers;
     }
 
+    /**
+     * Profile của EndUser sở hữu token. Khi bật {@code auth.client.profile-cache}, kết quả được cache theo token
+     * và các lời gọi đồng thời với cùng token chỉ gửi một request.
+     */
     public EndUserResponse getMyProfile(String endUserToken) {
+        if (profileCache == null) {
+            return fetchMyProfile(endUserToken);
+        }
+        EndUserResponse cached = profileCache.get(endUserToken);
+        if (cached != null) {
+            return cached;
+        }
+        return inFlightProfiles.execute(TokenFingerprint.of(endUserToken), () -> {
+            long stamp = profileCache.begin();
+            EndUserResponse profile = fetchMyProfile(endUserToken);
+            profileCache.put(endUserToken, profile, stamp);
+            return profile;
+        });
+    }
+
+    private EndUserResponse fetchMyProfile(String endUserToken) {
         String url = String.format("%s/api/eu/me", properties.getBaseUrl());
         HttpEntity<Void> entity = new HttpEntity<>(createEndUserAuthHeaders(endUserToken));
-        ResponseEntity<EndUserResponse> response = restTemplate.exchange(url, HttpMethod.GET, entity, EndUserResponse.class);
+        ResponseEntity<EndUserResponse> response = execute(AuthOperation.GET_MY_PROFILE, () -> restTemplate.exchange(url, HttpMethod.GET, entity, EndUserResponse.class));
         return response.getBody();
     }
 
     public EndUserResponse updateMyProfile(String endUserToken, UpdateMyProfileRequest request) {
         String url = String.format("%s/api/eu/me", properties.getBaseUrl());
         HttpEntity<UpdateMyProfileRequest> entity = new HttpEntity<>(request, createEndUserAuthHeaders(endUserToken));
-        ResponseEntity<EndUserResponse> response = restTemplate.exchange(url, HttpMethod.PUT, entity, EndUserResponse.class);
-        return response.getBody();
+        ResponseEntity<EndUserResponse> response = execute(AuthOperation.UPDATE_MY_PROFILE, () -> restTemplate.exchange(url, HttpMethod.PUT, entity, EndUserResponse.class));
+        EndUserResponse profile = response.getBody();
+        if (profileCache != null) {
+            if (profile != null && profile.getId() != null) {
+                // Các phiên khác của EndUser tải lại; phiên này dùng luôn profile vừa cập nhật.
+                profileCache.invalidateUser(profile.getId());
+                profileCache.put(endUserToken, profile, profileCache.begin());
+            } else {
+                profileCache.invalidate(endUserToken);
+            }
+        }
+        return profile;
     }
 
     public ApiResponse changeMyPassword(String endUserToken, ChangePasswordRequest request) {
         String url = String.format("%s/api/eu/me/password", properties.getBaseUrl());
         HttpEntity<ChangePasswordRequest> entity = new HttpEntity<>(request, createEndUserAuthHeaders(endUserToken));
-        ResponseEntity<ApiResponse> response = restTemplate.exchange(url, HttpMethod.PUT, entity, ApiResponse.class);
+        ResponseEntity<ApiResponse> response = execute(AuthOperation.CHANGE_MY_PASSWORD, () -> restTemplate.exchange(url, HttpMethod.PUT, entity, ApiResponse.class));
+        if (profileCache != null) {
+            EndUserResponse cached = profileCache.get(endUserToken);
+            if (cached != null) {
+                profileCache.invalidateUser(cached.getId());
+            }
+            profileCache.invalidate(endUserToken);
+        }
         return response.getBody();
     }
 
+    /**
+     * @return cache profile EndUser, hoặc {@code null} nếu {@code auth.client.profile-cache.enabled=false}
+     */
+    public EndUserProfileCache getProfileCache() {
+        return profileCache;
+    }
+
+    /**
+     * Xóa profile và kết quả xác thực đã cache của EndUser sau một thao tác quản trị, trên mọi instance.
+     * Cache dùng chung được xóa trước khi phát sự kiện, để instance nhận sự kiện không nạp lại kết quả cũ từ đó.
+     * Lỗi của cache dùng chung hoặc kênh sự kiện chỉ được ghi log: thao tác quản trị đã thành công.
+     */
+    private void onEndUserChanged(Long endUserId) {
+        if (profileCache != null) {
+            profileCache.invalidateUser(endUserId);
+        }
+        String userId = String.valueOf(endUserId);
+        try {
+            if (sharedValidationStore != null) {
+                sharedValidationStore.evictUser(userId);
+            }
+            if (invalidationBus != null) {
+                invalidationBus.publishUser(userId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate cached token validations of end user " + endUserId + ".", e);
+        }
+    }
+
+    /**
+     * Vai trò được trả về trong kết quả xác thực của mọi EndUser có vai trò này: xóa toàn bộ, trên mọi instance.
+     */
+    private void onRoleChanged() {
+        try {
+            if (sharedValidationStore != null) {
+                sharedValidationStore.evictAll();
+            }
+            if (invalidationBus != null) {
+                invalidationBus.publishAll();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate cached token validations after a role change.", e);
+        }
+    }
+
     // ===================================================================
     // CÁC PHƯƠNG THỨC QUẢN LÝ (BỞI OWNER / END-USER ADMIN)
     // ===================================================================
 
+    /**
+     * Project id ứng với API key. Chỉ gọi API resolve một lần; các thread gọi đồng thời sẽ chờ kết quả đó.
+     */
+    public Long getProjectId() {
+        return resolveProjectId();
+    }
+
     private Long resolveProjectId() {
-        if (this.resolvedProjectId == null) {
-            if (properties.getApiKey() == null || properties.getApiKey().isEmpty()) {
-                throw new IllegalStateException("API Key is not configured. Please set 'auth.client.api-key'.");
-            }
-            // Gọi đến API công khai mới, không cần xác thực
-            String url = String.format("%s/api/public/projects/resolve?apiKey=%s", properties.getBaseUrl(), properties.getApiKey());
-            ProjectIdResponse response = restTemplate.getForObject(url, ProjectIdResponse.class);
+        Long projectId = this.resolvedProjectId;
+        if (projectId != null) {
+            return projectId;
+        }
+        projectIdLock.lock();
+        try {
+            if (this.resolvedProjectId == null) {
+                if (properties.getApiKey() == null || properties.getApiKey().isEmpty()) {
+                    throw new IllegalStateException("API Key is not configured. Please set 'auth.client.api-key'.");
+                }
+                // Gọi đến API công khai mới, không cần xác thực
+                String url = String.format("%s/api/public/projects/resolve?apiKey=%s", properties.getBaseUrl(), properties.getApiKey());
+                ProjectIdResponse response = execute(AuthOperation.RESOLVE_PROJECT_ID, () -> restTemplate.getForObject(url, ProjectIdResponse.class));
 
-            if (response == null || response.getProjectId() == null) {
-                throw new IllegalStateException("Could not resolve projectId for the given API key.");
+                if (response == null || response.getProjectId() == null) {
+                    throw new IllegalStateException("Could not resolve projectId for the given API key.");
+                }
+                this.resolvedProjectId = response.getProjectId();
             }
-            this.resolvedProjectId = response.getProjectId();
+            return this.resolvedProjectId;
+        } finally {
+            projectIdLock.unlock();
         }
-        return this.resolvedProjectId;
     }
 
+
     public List<EndUserResponse> getEndUsersForProject(String adminToken) {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/endusers", properties.getBaseUrl(), projectId);
         HttpEntity<Void> entity = new HttpEntity<>(createEndUserAuthHeaders(adminToken));
-        ResponseEntity<EndUserResponse[]> response = restTemplate.exchange(url, HttpMethod.GET, entity, EndUserResponse[].class);
+        ResponseEntity<EndUserResponse[]> response = execute(AuthOperation.GET_END_USERS_FOR_PROJECT, () -> restTemplate.exchange(url, HttpMethod.GET, entity, EndUserResponse[].class));
         return response.getBody() != null ? Arrays.asList(response.getBody()) : Collections.emptyList();
     }
 
+    /**
+     * Lấy một trang EndUser của project (trang đánh số từ 0).
+     * Server cần hỗ trợ tham số {@code page}/{@code size}.
+     */
+    public List<EndUserResponse> getEndUsersForProject(String adminToken, int page, int size) {
+        List<EndUserResponse> users = new ArrayList<>(size);
+        try (EndUserIterator iterator = endUserIterator(adminToken, page, size, true)) {
+            iterator.forEachRemaining(users::add);
+        }
+        return users;
+    }
+
+    /**
+     * Duyệt toàn bộ EndUser của project theo từng trang {@value #DEFAULT_END_USER_PAGE_SIZE} phần tử.
+     * Xem {@link #streamEndUsersForProject(String, int)}.
+     */
+    public Stream<EndUserResponse> streamEndUsersForProject(String adminToken) {
+        return streamEndUsersForProject(adminToken, DEFAULT_END_USER_PAGE_SIZE);
+    }
+
+    /**
+     * Duyệt toàn bộ EndUser của project mà không giữ cả danh sách trong bộ nhớ:
+     * mỗi EndUser được parse khi cần, trang sau chỉ được gọi khi trang trước đã đọc hết.
+     * Stream giữ một kết nối HTTP trong lúc đọc; hãy đóng stream (try-with-resources) nếu dừng giữa chừng.
+     */
+    public Stream<EndUserResponse> streamEndUsersForProject(String adminToken, int pageSize) {
+        EndUserIterator iterator = endUserIterator(adminToken, 0, pageSize, false);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    private EndUserIterator endUserIterator(String adminToken, int firstPage, int pageSize, boolean singlePage) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        HttpHeaders headers = createEndUserAuthHeaders(adminToken);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return new EndUserIterator(page -> openEndUsersPage(headers, page, pageSize), objectMapper(), firstPage, pageSize, singlePage);
+    }
+
+    /**
+     * Gửi request lấy một trang EndUser và trả về response chưa đọc body, để body được parse dần.
+     */
+    private ClientHttpResponse openEndUsersPage(HttpHeaders headers, int page, int size) {
+        Long projectId = resolveProjectId();
+        URI uri = URI.create(String.format("%s/api/projects/%d/endusers?page=%d&size=%d", properties.getBaseUrl(), projectId, page, size));
+        return execute(AuthOperation.GET_END_USERS_FOR_PROJECT, () -> {
+            try {
+                ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, HttpMethod.GET);
+                request.getHeaders().addAll(headers);
+                ClientHttpResponse response = request.execute();
+                ResponseErrorHandler errorHandler = restTemplate.getErrorHandler();
+                if (errorHandler.hasError(response)) {
+                    try {
+                        errorHandler.handleError(uri, HttpMethod.GET, response);
+                    } finally {
+                        response.close();
+                    }
+                }
+                return response;
+            } catch (IOException e) {
+                throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private ObjectMapper objectMapper() {
+        for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+            if (converter instanceof MappingJackson2HttpMessageConverter jackson) {
+                return jackson.getObjectMapper();
+            }
+        }
+        return DEFAULT_OBJECT_MAPPER;
+    }
+
     public EndUserResponse updateEndUserDetails(String adminToken, Long endUserId, UpdateEndUserRequest request) {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/endusers/%d", properties.getBaseUrl(), projectId, endUserId);
         HttpEntity<UpdateEndUserRequest> entity = new HttpEntity<>(request, createEndUserAuthHeaders(adminToken));
-        ResponseEntity<EndUserResponse> response = restTemplate.exchange(url, HttpMethod.PUT, entity, EndUserResponse.class);
+        ResponseEntity<EndUserResponse> response = execute(AuthOperation.UPDATE_END_USER_DETAILS, () -> restTemplate.exchange(url, HttpMethod.PUT, entity, EndUserResponse.class));
+        onEndUserChanged(endUserId);
         return response.getBody();
     }
 
@@ -124,21 +412,24 @@ public class AuthClient {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/endusers/%d/lock", properties.getBaseUrl(), projectId, endUserId);
         HttpEntity<Void> entity = new HttpEntity<>(createEndUserAuthHeaders(adminToken));
-        restTemplate.exchange(url, HttpMethod.POST, entity, Void.class);
+        execute(AuthOperation.LOCK_END_USER, () -> restTemplate.exchange(url, HttpMethod.POST, entity, Void.class));
+        onEndUserChanged(endUserId);
     }
 
     public void unlockEndUser(String adminToken, Long endUserId) {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/endusers/%d/unlock", properties.getBaseUrl(), projectId, endUserId);
         HttpEntity<Void> entity = new HttpEntity<>(createEndUserAuthHeaders(adminToken));
-        restTemplate.exchange(url, HttpMethod.POST, entity, Void.class);
+        execute(AuthOperation.UNLOCK_END_USER, () -> restTemplate.exchange(url, HttpMethod.POST, entity, Void.class));
+        onEndUserChanged(endUserId);
     }
 
     public EndUserResponse updateUserRoles(String adminToken, Long endUserId, UpdateEndUserRolesRequest request) {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/endusers/%d/roles", properties.getBaseUrl(), projectId, endUserId);
         HttpEntity<UpdateEndUserRolesRequest> entity = new HttpEntity<>(request, createEndUserAuthHeaders(adminToken));
-        ResponseEntity<EndUserResponse> response = restTemplate.exchange(url, HttpMethod.PUT, entity, EndUserResponse.class);
+        ResponseEntity<EndUserResponse> response = execute(AuthOperation.UPDATE_USER_ROLES, () -> restTemplate.exchange(url, HttpMethod.PUT, entity, EndUserResponse.class));
+        onEndUserChanged(endUserId);
         return response.getBody();
     }
 
@@ -146,7 +437,8 @@ public class AuthClient {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/endusers/%d/roles", properties.getBaseUrl(), projectId, endUserId);
         HttpEntity<UpdateEndUserRolesRequest> entity = new HttpEntity<>(request, createEndUserAuthHeaders(adminToken));
-        ResponseEntity<EndUserResponse> response = restTemplate.exchange(url, HttpMethod.POST, entity, EndUserResponse.class);
+        ResponseEntity<EndUserResponse> response = execute(AuthOperation.ADD_ROLES_TO_USER, () -> restTemplate.exchange(url, HttpMethod.POST, entity, EndUserResponse.class));
+        onEndUserChanged(endUserId);
         return response.getBody();
     }
 
@@ -154,31 +446,165 @@ public class AuthClient {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/endusers/%d/roles/%d", properties.getBaseUrl(), projectId, endUserId, roleId);
         HttpEntity<Void> entity = new HttpEntity<>(createEndUserAuthHeaders(adminToken));
-        restTemplate.exchange(url, HttpMethod.DELETE, entity, Void.class);
+        execute(AuthOperation.REMOVE_ROLE_FROM_USER, () -> restTemplate.exchange(url, HttpMethod.DELETE, entity, Void.class));
+        onEndUserChanged(endUserId);
+    }
+
+    // --- Bulk Operations ---
+
+    public BulkOperationResult lockEndUsers(String adminToken, Collection<Long> endUserIds) {
+        return runBulk(endUserIds, endUserId -> lockEndUser(adminToken, endUserId));
+    }
+
+    public BulkOperationResult unlockEndUsers(String adminToken, Collection<Long> endUserIds) {
+        return runBulk(endUserIds, endUserId -> unlockEndUser(adminToken, endUserId));
+    }
+
+    public BulkOperationResult addRolesToUsers(String adminToken, Collection<Long> endUserIds, UpdateEndUserRolesRequest request) {
+        return runBulk(endUserIds, endUserId -> addRolesToUser(adminToken, endUserId, request));
+    }
+
+    public BulkOperationResult removeRoleFromUsers(String adminToken, Collection<Long> endUserIds, Long roleId) {
+        return runBulk(endUserIds, endUserId -> removeRoleFromUser(adminToken, endUserId, roleId));
+    }
+
+    /**
+     * Chạy {@code operation} cho từng EndUser, tối đa {@code auth.client.bulk.concurrency} lời gọi song song
+     * trên cùng pool kết nối. Lỗi của một EndUser được ghi vào báo cáo, không làm dừng các EndUser khác.
+     * Thread gọi cũng tham gia xử lý, nên phương thức không bị treo kể cả khi executor async đã bận hết.
+     */
+    private BulkOperationResult runBulk(Collection<Long> endUserIds, Consumer<Long> operation) {
+        Long[] targets = endUserIds.toArray(new Long[0]);
+        if (targets.length == 0) {
+            return new BulkOperationResult(Collections.emptyList());
+        }
+        // Lỗi cấu hình (thiếu API key, ...) được báo ngay thay vì lặp lại cho từng EndUser.
+        resolveProjectId();
+
+        BulkItemResult[] results = new BulkItemResult[targets.length];
+        AtomicInteger cursor = new AtomicInteger();
+        Runnable worker = () -> {
+            int index;
+            while ((index = cursor.getAndIncrement()) < targets.length) {
+                results[index] = runBulkItem(targets[index], operation);
+            }
+        };
+        int workers = Math.max(1, Math.min(properties.getBulk().getConcurrency(), targets.length));
+        CompletableFuture<?>[] helpers = new CompletableFuture<?>[workers - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = CompletableFuture.runAsync(Deadline.propagate(worker), asyncExecutor);
+        }
+        worker.run();
+        CompletableFuture.allOf(helpers).join();
+        return new BulkOperationResult(Arrays.asList(results));
+    }
+
+    private static BulkItemResult runBulkItem(Long endUserId, Consumer<Long> operation) {
+        try {
+            operation.accept(endUserId);
+            return BulkItemResult.success(endUserId);
+        } catch (RestClientResponseException e) {
+            return BulkItemResult.failure(endUserId, e.getStatusCode().value(), e);
+        } catch (RuntimeException e) {
+            return BulkItemResult.failure(endUserId, 0, e);
+        }
     }
 
     // --- ProjectRole Management ---
 
+    /**
+     * Danh sách vai trò của project. Khi bật {@code auth.client.role-catalog}, lời gọi gửi kèm ETag của catalog
+     * cục bộ: server vẫn xác thực {@code adminToken} và trả về 304 (không có body) nếu danh sách không đổi.
+     */
     public List<ProjectRoleResponse> getProjectRoles(String adminToken) {
+        if (roleCatalog == null) {
+            return fetchProjectRoles(adminToken);
+        }
+        return revalidateRoleCatalog(adminToken).roles();
+    }
+
+    /**
+     * Tìm vai trò theo id, dùng catalog cục bộ nếu được bật (xem {@link #getProjectRoles}).
+     *
+     * @return vai trò, hoặc {@code null} nếu project không có vai trò này
+     */
+    public ProjectRoleResponse findProjectRoleById(String adminToken, Long roleId) {
+        if (roleCatalog == null) {
+            return fetchProjectRoles(adminToken).stream().filter(role -> roleId.equals(role.getId())).findFirst().orElse(null);
+        }
+        return revalidateRoleCatalog(adminToken).findById(roleId);
+    }
+
+    /**
+     * Tìm vai trò theo tên, dùng catalog cục bộ nếu được bật (xem {@link #getProjectRoles}).
+     *
+     * @return vai trò, hoặc {@code null} nếu project không có vai trò này
+     */
+    public ProjectRoleResponse findProjectRoleByName(String adminToken, String name) {
+        if (roleCatalog == null) {
+            return fetchProjectRoles(adminToken).stream().filter(role -> name.equals(role.getName())).findFirst().orElse(null);
+        }
+        return revalidateRoleCatalog(adminToken).findByName(name);
+    }
+
+    /**
+     * @return catalog vai trò cục bộ, hoặc {@code null} nếu {@code auth.client.role-catalog.enabled=false}
+     */
+    public ProjectRoleCatalog getProjectRoleCatalog() {
+        return roleCatalog;
+    }
+
+    private List<ProjectRoleResponse> fetchProjectRoles(String adminToken) {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/roles", properties.getBaseUrl(), projectId);
         HttpEntity<Void> entity = new HttpEntity<>(createEndUserAuthHeaders(adminToken));
-        ResponseEntity<ProjectRoleResponse[]> response = restTemplate.exchange(url, HttpMethod.GET, entity, ProjectRoleResponse[].class);
+        ResponseEntity<ProjectRoleResponse[]> response = execute(AuthOperation.GET_PROJECT_ROLES, () -> restTemplate.exchange(url, HttpMethod.GET, entity, ProjectRoleResponse[].class));
         return response.getBody() != null ? Arrays.asList(response.getBody()) : Collections.emptyList();
     }
 
+    /**
+     * Kiểm tra lại catalog bằng token của người gọi; gửi kèm ETag hiện có để server trả về 304 nếu danh sách không đổi.
+     * Catalog không bao giờ được trả về mà không có một lời gọi được server chấp nhận với chính {@code adminToken}.
+     */
+    private ProjectRoleCatalog.Snapshot revalidateRoleCatalog(String adminToken) {
+        long version = roleCatalog.version();
+        ProjectRoleCatalog.Snapshot cached = roleCatalog.snapshot();
+        String etag = cached != null ? cached.etag() : null;
+        Long projectId = resolveProjectId();
+        String url = String.format("%s/api/projects/%d/roles", properties.getBaseUrl(), projectId);
+        HttpHeaders headers = createEndUserAuthHeaders(adminToken);
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+        ResponseEntity<ProjectRoleResponse[]> response = execute(AuthOperation.GET_PROJECT_ROLES, () -> restTemplate.exchange(url, HttpMethod.GET, entity, ProjectRoleResponse[].class));
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && etag != null) {
+            return cached;
+        }
+        List<ProjectRoleResponse> roles = response.getBody() != null ? Arrays.asList(response.getBody()) : Collections.emptyList();
+        return roleCatalog.replaceAll(roles, response.getHeaders().getETag(), version);
+    }
+
     public ProjectRoleResponse createProjectRole(String adminToken, ProjectRoleRequest request) {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/roles", properties.getBaseUrl(), projectId);
         HttpEntity<ProjectRoleRequest> entity = new HttpEntity<>(request, createEndUserAuthHeaders(adminToken));
-        return restTemplate.postForObject(url, entity, ProjectRoleResponse.class);
+        ProjectRoleResponse role = execute(AuthOperation.CREATE_PROJECT_ROLE, () -> restTemplate.postForObject(url, entity, ProjectRoleResponse.class));
+        if (roleCatalog != null) {
+            roleCatalog.put(role);
+        }
+        return role;
     }
 
     public ProjectRoleResponse updateProjectRole(String adminToken, Long roleId, ProjectRoleRequest request) {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/roles/%d", properties.getBaseUrl(), projectId, roleId);
         HttpEntity<ProjectRoleRequest> entity = new HttpEntity<>(request, createEndUserAuthHeaders(adminToken));
-        ResponseEntity<ProjectRoleResponse> response = restTemplate.exchange(url, HttpMethod.PUT, entity, ProjectRoleResponse.class);
+        ResponseEntity<ProjectRoleResponse> response = execute(AuthOperation.UPDATE_PROJECT_ROLE, () -> restTemplate.exchange(url, HttpMethod.PUT, entity, ProjectRoleResponse.class));
+        if (roleCatalog != null) {
+            roleCatalog.put(response.getBody());
+        }
+        onRoleChanged();
         return response.getBody();
     }
 
@@ -186,6 +612,337 @@ public class AuthClient {
         Long projectId = resolveProjectId();
         String url = String.format("%s/api/projects/%d/roles/%d", properties.getBaseUrl(), projectId, roleId);
         HttpEntity<Void> entity = new HttpEntity<>(createEndUserAuthHeaders(adminToken));
-        restTemplate.exchange(url, HttpMethod.DELETE, entity, Void.class);
+        execute(AuthOperation.DELETE_PROJECT_ROLE, () -> restTemplate.exchange(url, HttpMethod.DELETE, entity, Void.class));
+        if (roleCatalog != null) {
+            roleCatalog.remove(roleId);
+        }
+        onRoleChanged();
+    }
+
+    // ===================================================================
+    // CÁC PHƯƠNG THỨC QUẢN TRỊ DÙNG TOKEN ĐƯỢC QUẢN LÝ
+    // Dùng tài khoản auth.client.admin.*: token được dùng chung và tự làm mới,
+    // token bị từ chối (401) được đăng nhập lại và lời gọi được thử lại một lần.
+    // ===================================================================
+
+    private AdminTokenManager createAdminTokenManager(AuthClientProperties.Admin admin) {
+        if (admin.getEmail() == null || admin.getEmail().isEmpty()) {
+            return null;
+        }
+        EndUserLoginRequest request = new EndUserLoginRequest();
+        request.setEmail(admin.getEmail());
+        request.setPassword(admin.getPassword());
+        return new AdminTokenManager(() -> loginEndUser(request), admin);
+    }
+
+    private AdminTokenManager adminTokenManager() {
+        if (adminTokenManager == null) {
+            throw new IllegalStateException("Admin credentials are not configured. Please set 'auth.client.admin.email' and 'auth.client.admin.password'.");
+        }
+        return adminTokenManager;
+    }
+
+    /**
+     * Token quản trị hiện tại, đăng nhập nếu chưa có hoặc đã hết hạn.
+     *
+     * @throws IllegalStateException nếu chưa cấu hình {@code auth.client.admin.email}
+     */
+    public String getAdminToken() {
+        return adminTokenManager().getToken();
+    }
+
+    private <T> T withAdminToken(Function<String, T> call) {
+        AdminTokenManager manager = adminTokenManager();
+        String token = manager.getToken();
+        try {
+            return call.apply(token);
+        } catch (HttpClientErrorException.Unauthorized e) {
+            // Token bị từ chối trước khi hết hạn (ví dụ bị thu hồi).
+            manager.invalidate(token);
+            return call.apply(manager.getToken());
+        }
+    }
+
+    private void runWithAdminToken(Consumer<String> call) {
+        withAdminToken(token -> {
+            call.accept(token);
+            return null;
+        });
+    }
+
+    public List<EndUserResponse> getEndUsersForProject() {
+        return withAdminToken(token -> getEndUsersForProject(token));
+    }
+
+    public List<EndUserResponse> getEndUsersForProject(int page, int size) {
+        return withAdminToken(token -> getEndUsersForProject(token, page, size));
+    }
+
+    public Stream<EndUserResponse> streamEndUsersForProject() {
+        return streamEndUsersForProject(getAdminToken());
+    }
+
+    public Stream<EndUserResponse> streamEndUsersForProject(int pageSize) {
+        return streamEndUsersForProject(getAdminToken(), pageSize);
+    }
+
+    public EndUserResponse updateEndUserDetails(Long endUserId, UpdateEndUserRequest request) {
+        return withAdminToken(token -> updateEndUserDetails(token, endUserId, request));
+    }
+
+    public void lockEndUser(Long endUserId) {
+        runWithAdminToken(token -> lockEndUser(token, endUserId));
+    }
+
+    public void unlockEndUser(Long endUserId) {
+        runWithAdminToken(token -> unlockEndUser(token, endUserId));
+    }
+
+    public EndUserResponse updateUserRoles(Long endUserId, UpdateEndUserRolesRequest request) {
+        return withAdminToken(token -> updateUserRoles(token, endUserId, request));
+    }
+
+    public EndUserResponse addRolesToUser(Long endUserId, UpdateEndUserRolesRequest request) {
+        return withAdminToken(token -> addRolesToUser(token, endUserId, request));
+    }
+
+    public void removeRoleFromUser(Long endUserId, Long roleId) {
+        runWithAdminToken(token -> removeRoleFromUser(token, endUserId, roleId));
+    }
+
+    public BulkOperationResult lockEndUsers(Collection<Long> endUserIds) {
+        return runBulk(endUserIds, endUserId -> lockEndUser(endUserId));
+    }
+
+    public BulkOperationResult unlockEndUsers(Collection<Long> endUserIds) {
+        return runBulk(endUserIds, endUserId -> unlockEndUser(endUserId));
+    }
+
+    public BulkOperationResult addRolesToUsers(Collection<Long> endUserIds, UpdateEndUserRolesRequest request) {
+        return runBulk(endUserIds, endUserId -> addRolesToUser(endUserId, request));
+    }
+
+    public BulkOperationResult removeRoleFromUsers(Collection<Long> endUserIds, Long roleId) {
+        return runBulk(endUserIds, endUserId -> removeRoleFromUser(endUserId, roleId));
+    }
+
+    public List<ProjectRoleResponse> getProjectRoles() {
+        return withAdminToken(token -> getProjectRoles(token));
+    }
+
+    public ProjectRoleResponse findProjectRoleById(Long roleId) {
+        return withAdminToken(token -> findProjectRoleById(token, roleId));
+    }
+
+    public ProjectRoleResponse findProjectRoleByName(String name) {
+        return withAdminToken(token -> findProjectRoleByName(token, name));
+    }
+
+    public ProjectRoleResponse createProjectRole(ProjectRoleRequest request) {
+        return withAdminToken(token -> createProjectRole(token, request));
+    }
+
+    public ProjectRoleResponse updateProjectRole(Long roleId, ProjectRoleRequest request) {
+        return withAdminToken(token -> updateProjectRole(token, roleId, request));
+    }
+
+    public void deleteProjectRole(Long roleId) {
+        runWithAdminToken(token -> deleteProjectRole(token, roleId));
+    }
+
+    // ===================================================================
+    // CÁC PHƯƠNG THỨC BẤT ĐỒNG BỘ
+    // Mỗi phương thức chạy phương thức đồng bộ tương ứng trên executor bất đồng bộ,
+    // để có thể gọi song song nhiều API mà không phải tự quản lý thread pool.
+    // ===================================================================
+
+    private <T> CompletableFuture<T> async(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(Deadline.propagate(call), asyncExecutor);
+    }
+
+    private CompletableFuture<Void> async(Runnable call) {
+        return CompletableFuture.runAsync(Deadline.propagate(call), asyncExecutor);
+    }
+
+    public CompletableFuture<ApiResponse> registerEndUserAsync(EndUserRegisterRequest request) {
+        return async(() -> registerEndUser(request));
+    }
+
+    public CompletableFuture<AuthResponse> loginEndUserAsync(EndUserLoginRequest request) {
+        return async(() -> loginEndUser(request));
+    }
+
+    public CompletableFuture<ApiResponse> forgotPasswordAsync(ForgotPasswordRequest request) {
+        return async(() -> forgotPassword(request));
+    }
+
+    public CompletableFuture<ApiResponse> resetPasswordAsync(ResetPasswordRequest request) {
+        return async(() -> resetPassword(request));
+    }
+
+    public CompletableFuture<EndUserResponse> getMyProfileAsync(String endUserToken) {
+        return async(() -> getMyProfile(endUserToken));
+    }
+
+    public CompletableFuture<EndUserResponse> updateMyProfileAsync(String endUserToken, UpdateMyProfileRequest request) {
+        return async(() -> updateMyProfile(endUserToken, request));
+    }
+
+    public CompletableFuture<ApiResponse> changeMyPasswordAsync(String endUserToken, ChangePasswordRequest request) {
+        return async(() -> changeMyPassword(endUserToken, request));
+    }
+
+    public CompletableFuture<List<EndUserResponse>> getEndUsersForProjectAsync(String adminToken) {
+        return async(() -> getEndUsersForProject(adminToken));
+    }
+
+    public CompletableFuture<List<EndUserResponse>> getEndUsersForProjectAsync(String adminToken, int page, int size) {
+        return async(() -> getEndUsersForProject(adminToken, page, size));
+    }
+
+    public CompletableFuture<EndUserResponse> updateEndUserDetailsAsync(String adminToken, Long endUserId, UpdateEndUserRequest request) {
+        return async(() -> updateEndUserDetails(adminToken, endUserId, request));
+    }
+
+    public CompletableFuture<Void> lockEndUserAsync(String adminToken, Long endUserId) {
+        return async(() -> lockEndUser(adminToken, endUserId));
+    }
+
+    public CompletableFuture<Void> unlockEndUserAsync(String adminToken, Long endUserId) {
+        return async(() -> unlockEndUser(adminToken, endUserId));
+    }
+
+    public CompletableFuture<EndUserResponse> updateUserRolesAsync(String adminToken, Long endUserId, UpdateEndUserRolesRequest request) {
+        return async(() -> updateUserRoles(adminToken, endUserId, request));
+    }
+
+    public CompletableFuture<EndUserResponse> addRolesToUserAsync(String adminToken, Long endUserId, UpdateEndUserRolesRequest request) {
+        return async(() -> addRolesToUser(adminToken, endUserId, request));
+    }
+
+    public CompletableFuture<Void> removeRoleFromUserAsync(String adminToken, Long endUserId, Long roleId) {
+        return async(() -> removeRoleFromUser(adminToken, endUserId, roleId));
+    }
+
+    public CompletableFuture<BulkOperationResult> lockEndUsersAsync(String adminToken, Collection<Long> endUserIds) {
+        return async(() -> lockEndUsers(adminToken, endUserIds));
+    }
+
+    public CompletableFuture<BulkOperationResult> unlockEndUsersAsync(String adminToken, Collection<Long> endUserIds) {
+        return async(() -> unlockEndUsers(adminToken, endUserIds));
+    }
+
+    public CompletableFuture<BulkOperationResult> addRolesToUsersAsync(String adminToken, Collection<Long> endUserIds, UpdateEndUserRolesRequest request) {
+        return async(() -> addRolesToUsers(adminToken, endUserIds, request));
+    }
+
+    public CompletableFuture<BulkOperationResult> removeRoleFromUsersAsync(String adminToken, Collection<Long> endUserIds, Long roleId) {
+        return async(() -> removeRoleFromUsers(adminToken, endUserIds, roleId));
+    }
+
+    public CompletableFuture<List<ProjectRoleResponse>> getProjectRolesAsync(String adminToken) {
+        return async(() -> getProjectRoles(adminToken));
+    }
+
+    public CompletableFuture<ProjectRoleResponse> createProjectRoleAsync(String adminToken, ProjectRoleRequest request) {
+        return async(() -> createProjectRole(adminToken, request));
+    }
+
+    public CompletableFuture<ProjectRoleResponse> updateProjectRoleAsync(String adminToken, Long roleId, ProjectRoleRequest request) {
+        return async(() -> updateProjectRole(adminToken, roleId, request));
+    }
+
+    public CompletableFuture<Void> deleteProjectRoleAsync(String adminToken, Long roleId) {
+        return async(() -> deleteProjectRole(adminToken, roleId));
+    }
+
+    public CompletableFuture<ProjectRoleResponse> findProjectRoleByIdAsync(String adminToken, Long roleId) {
+        return async(() -> findProjectRoleById(adminToken, roleId));
+    }
+
+    public CompletableFuture<ProjectRoleResponse> findProjectRoleByNameAsync(String adminToken, String name) {
+        return async(() -> findProjectRoleByName(adminToken, name));
+    }
+
+    public CompletableFuture<List<EndUserResponse>> getEndUsersForProjectAsync() {
+        return async(() -> getEndUsersForProject());
+    }
+
+    public CompletableFuture<List<EndUserResponse>> getEndUsersForProjectAsync(int page, int size) {
+        return async(() -> getEndUsersForProject(page, size));
+    }
+
+    public CompletableFuture<EndUserResponse> updateEndUserDetailsAsync(Long endUserId, UpdateEndUserRequest request) {
+        return async(() -> updateEndUserDetails(endUserId, request));
+    }
+
+    public CompletableFuture<Void> lockEndUserAsync(Long endUserId) {
+        return async(() -> lockEndUser(endUserId));
+    }
+
+    public CompletableFuture<Void> unlockEndUserAsync(Long endUserId) {
+        return async(() -> unlockEndUser(endUserId));
+    }
+
+    public CompletableFuture<EndUserResponse> updateUserRolesAsync(Long endUserId, UpdateEndUserRolesRequest request) {
+        return async(() -> updateUserRoles(endUserId, request));
+    }
+
+    public CompletableFuture<EndUserResponse> addRolesToUserAsync(Long endUserId, UpdateEndUserRolesRequest request) {
+        return async(() -> addRolesToUser(endUserId, request));
+    }
+
+    public CompletableFuture<Void> removeRoleFromUserAsync(Long endUserId, Long roleId) {
+        return async(() -> removeRoleFromUser(endUserId, roleId));
+    }
+
+    public CompletableFuture<BulkOperationResult> lockEndUsersAsync(Collection<Long> endUserIds) {
+        return async(() -> lockEndUsers(endUserIds));
+    }
+
+    public CompletableFuture<BulkOperationResult> unlockEndUsersAsync(Collection<Long> endUserIds) {
+        return async(() -> unlockEndUsers(endUserIds));
+    }
+
+    public CompletableFuture<BulkOperationResult> addRolesToUsersAsync(Collection<Long> endUserIds, UpdateEndUserRolesRequest request) {
+        return async(() -> addRolesToUsers(endUserIds, request));
+    }
+
+    public CompletableFuture<BulkOperationResult> removeRoleFromUsersAsync(Collection<Long> endUserIds, Long roleId) {
+        return async(() -> removeRoleFromUsers(endUserIds, roleId));
+    }
+
+    public CompletableFuture<List<ProjectRoleResponse>> getProjectRolesAsync() {
+        return async(() -> getProjectRoles());
+    }
+
+    public CompletableFuture<ProjectRoleResponse> createProjectRoleAsync(ProjectRoleRequest request) {
+        return async(() -> createProjectRole(request));
+    }
+
+    public CompletableFuture<ProjectRoleResponse> updateProjectRoleAsync(Long roleId, ProjectRoleRequest request) {
+        return async(() -> updateProjectRole(roleId, request));
+    }
+
+    public CompletableFuture<Void> deleteProjectRoleAsync(Long roleId) {
+        return async(() -> deleteProjectRole(roleId));
+    }
+
+    public CompletableFuture<ProjectRoleResponse> findProjectRoleByIdAsync(Long roleId) {
+        return async(() -> findProjectRoleById(roleId));
+    }
+
+    public CompletableFuture<ProjectRoleResponse> findProjectRoleByNameAsync(String name) {
+        return async(() -> findProjectRoleByName(name));
+    }
+
+    /**
+     * Dừng việc làm mới token quản trị ở background.
+     */
+    @Override
+    public void close() {
+        if (adminTokenManager != null) {
+            adminTokenManager.close();
+        }
     }
-}
\ No newline at end of file
+}
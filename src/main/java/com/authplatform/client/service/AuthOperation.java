@@ -0,0 +1,47 @@
+package com.authplatform.client.service;
+
+/**
+ * Các lời gọi đến dịch vụ xác thực, dùng làm tag {@code operation} của metrics.
+ * <p>
+ * Lời gọi idempotent có thể được gửi lại mà không đổi kết quả, kể cả khi lần trước đã được xử lý nhưng response
+ * bị mất: các lời gọi {@code GET}/{@code PUT}/{@code DELETE}, xác thực token, và khóa/mở khóa EndUser.
+ * {@code changeMyPassword} là {@code PUT} nhưng không idempotent: lần gửi lại sẽ bị từ chối vì mật khẩu cũ đã đổi.
+ */
+public enum AuthOperation {
+    REGISTER("register", false),
+    LOGIN("login", false),
+    FORGOT_PASSWORD("forgotPassword", false),
+    RESET_PASSWORD("resetPassword", false),
+    VALIDATE("validate", true),
+    GET_MY_PROFILE("getMyProfile", true),
+    UPDATE_MY_PROFILE("updateMyProfile", true),
+    CHANGE_MY_PASSWORD("changeMyPassword", false),
+    RESOLVE_PROJECT_ID("resolveProjectId", true),
+    GET_END_USERS_FOR_PROJECT("getEndUsersForProject", true),
+    UPDATE_END_USER_DETAILS("updateEndUserDetails", true),
+    LOCK_END_USER("lockEndUser", true),
+    UNLOCK_END_USER("unlockEndUser", true),
+    UPDATE_USER_ROLES("updateUserRoles", true),
+    ADD_ROLES_TO_USER("addRolesToUser", false),
+    REMOVE_ROLE_FROM_USER("removeRoleFromUser", true),
+    GET_PROJECT_ROLES("getProjectRoles", true),
+    CREATE_PROJECT_ROLE("createProjectRole", false),
+    UPDATE_PROJECT_ROLE("updateProjectRole", true),
+    DELETE_PROJECT_ROLE("deleteProjectRole", true);
+
+    private final String tagValue;
+    private final boolean idempotent;
+
+    AuthOperation(String tagValue, boolean idempotent) {
+        this.tagValue = tagValue;
+        this.idempotent = idempotent;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+}
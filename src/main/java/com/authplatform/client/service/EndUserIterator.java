@@ -0,0 +1,210 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.dto.EndUserResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Đọc danh sách EndUser theo từng trang, mỗi lần parse một phần tử từ body HTTP
+ * nên bộ nhớ không phụ thuộc vào tổng số EndUser.
+ * Trang kế tiếp chỉ được gọi khi trang hiện tại đã đọc hết.
+ * <p>
+ * Body có thể là một mảng JSON, hoặc một object dạng {@code Page} của Spring Data
+ * ({@code {"content": [...], "last": true, ...}}). Với mảng, trang cuối là trang có ít hơn {@code pageSize}
+ * phần tử (hoặc nhiều hơn, khi server bỏ qua tham số phân trang và trả về toàn bộ).
+ * <p>
+ * Để không lặp vô hạn khi server bỏ qua tham số phân trang và trả về đúng {@code pageSize} phần tử, việc đọc dừng
+ * khi gặp trang rỗng hoặc trang bắt đầu bằng cùng EndUser với trang trước (phần tử của trang lặp không được trả về),
+ * và báo lỗi khi vượt quá {@value #MAX_PAGES} trang.
+ */
+class EndUserIterator implements Iterator<EndUserResponse>, Closeable {
+
+    static final int MAX_PAGES = 100_000;
+
+    private final IntFunction<ClientHttpResponse> pageOpener;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final boolean singlePage;
+
+    private int nextPage;
+    private int pagesOpened;
+    private Long previousFirstId;
+    private Long firstId;
+    private ClientHttpResponse response;
+    private JsonParser parser;
+    private int readInPage;
+    private boolean pagedBody;
+    private Boolean lastFlag;
+    private boolean exhausted;
+    private EndUserResponse next;
+
+    /**
+     * @param pageOpener mở response HTTP của một trang (đánh số từ 0)
+     * @param singlePage chỉ đọc trang {@code firstPage}, không gọi các trang sau
+     */
+    EndUserIterator(IntFunction<ClientHttpResponse> pageOpener, ObjectMapper objectMapper,
+                    int firstPage, int pageSize, boolean singlePage) {
+        this.pageOpener = pageOpener;
+        this.objectMapper = objectMapper;
+        this.nextPage = firstPage;
+        this.pageSize = pageSize;
+        this.singlePage = singlePage;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        try {
+            next = readNext();
+        } catch (IOException e) {
+            close();
+            throw new ResourceAccessException("I/O error while reading end users: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        return next != null;
+    }
+
+    @Override
+    public EndUserResponse next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        EndUserResponse current = next;
+        next = null;
+        return current;
+    }
+
+    private EndUserResponse readNext() throws IOException {
+        while (true) {
+            if (parser == null) {
+                openPage();
+                if (parser == null) {
+                    exhausted = true;
+                    return null;
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                readInPage++;
+                EndUserResponse user = objectMapper.readValue(parser, EndUserResponse.class);
+                if (readInPage == 1) {
+                    if (previousFirstId != null && Objects.equals(previousFirstId, user.getId())) {
+                        // Server trả lại đúng trang trước: nó không phân trang, mọi EndUser đã được đọc.
+                        closePage();
+                        exhausted = true;
+                        return null;
+                    }
+                    firstId = user.getId();
+                }
+                return user;
+            }
+            if (token != null && token != JsonToken.END_ARRAY) {
+                readInPage++;
+                parser.skipChildren();
+                continue;
+            }
+            // Hết mảng: đọc nốt các field còn lại của Page (ví dụ "last") rồi quyết định có sang trang sau không.
+            if (pagedBody) {
+                readPageFields(false);
+            }
+            boolean lastPage = singlePage
+                    || readInPage == 0
+                    || (lastFlag != null ? lastFlag : readInPage != pageSize);
+            previousFirstId = firstId;
+            closePage();
+            if (lastPage) {
+                exhausted = true;
+                return null;
+            }
+        }
+    }
+
+    private void openPage() throws IOException {
+        if (pagesOpened++ >= MAX_PAGES) {
+            throw new IllegalStateException("Reading end users did not finish after " + MAX_PAGES
+                    + " pages; the server may be ignoring the page parameter.");
+        }
+        response = pageOpener.apply(nextPage++);
+        parser = objectMapper.getFactory().createParser(response.getBody());
+        readInPage = 0;
+        firstId = null;
+        lastFlag = null;
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            pagedBody = false;
+        } else if (token == JsonToken.START_OBJECT) {
+            pagedBody = true;
+            if (!readPageFields(true)) {
+                closePage();
+            }
+        } else {
+            // Body rỗng hoặc null: không có EndUser nào.
+            closePage();
+        }
+    }
+
+    /**
+     * Đọc các field của object Page, ghi nhận {@code last}.
+     *
+     * @param untilContent dừng khi gặp mảng {@code content}
+     * @return {@code true} nếu đã đứng ở đầu mảng {@code content}
+     */
+    private boolean readPageFields(boolean untilContent) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (untilContent && "content".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            if ("last".equals(field) && value.isBoolean()) {
+                lastFlag = parser.getBooleanValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return false;
+    }
+
+    private void closePage() {
+        try {
+            if (parser != null) {
+                parser.close();
+            }
+        } catch (IOException ignored) {
+            // Response vẫn được đóng ở dưới.
+        } finally {
+            parser = null;
+            if (response != null) {
+                response.close();
+                response = null;
+            }
+        }
+    }
+
+    /**
+     * Trả kết nối về pool. Cần gọi khi dừng đọc giữa chừng.
+     */
+    @Override
+    public void close() {
+        exhausted = true;
+        next = null;
+        closePage();
+    }
+}
@@ -0,0 +1,81 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.cache.CacheStats;
+import com.authplatform.client.cache.InvalidationStamps;
+import com.authplatform.client.cache.LocalCache;
+import com.authplatform.client.cache.TokenFingerprint;
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.EndUserResponse;
+
+/**
+ * Cache cục bộ cho kết quả {@link AuthClient#getMyProfile}, khóa theo SHA-256 của token EndUser.
+ * Xóa theo EndUser dùng {@link InvalidationStamps}: một lời gọi đang chạy song song với thao tác quản trị
+ * không ghi đè được dữ liệu cũ vào cache.
+ */
+public class EndUserProfileCache {
+
+    private static final class Entry {
+        private final EndUserResponse profile;
+        private final long stamp;
+
+        private Entry(EndUserResponse profile, long stamp) {
+            this.profile = profile;
+            this.stamp = stamp;
+        }
+    }
+
+    private final LocalCache<String, Entry> cache;
+    private final InvalidationStamps<Long> invalidations;
+
+    public EndUserProfileCache(AuthClientProperties.ProfileCache config) {
+        this.cache = new LocalCache<>(config.getMaxSize(), config.getTtl(), config.getEvictionPolicy());
+        this.invalidations = new InvalidationStamps<>(config.getMaxSize(), config.getTtl());
+    }
+
+    public EndUserResponse get(String endUserToken) {
+        String key = TokenFingerprint.of(endUserToken);
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (invalidations.isInvalidatedSince(entry.profile.getId(), entry.stamp)) {
+            cache.invalidate(key);
+            return null;
+        }
+        return entry.profile;
+    }
+
+    /**
+     * Mốc của một lần tải profile; lấy trước khi gọi HTTP và truyền lại cho {@link #put}.
+     */
+    long begin() {
+        return invalidations.begin();
+    }
+
+    void put(String endUserToken, EndUserResponse profile, long stamp) {
+        if (profile == null || profile.getId() == null) {
+            return;
+        }
+        cache.put(TokenFingerprint.of(endUserToken), new Entry(profile, stamp));
+    }
+
+    public void invalidate(String endUserToken) {
+        cache.invalidate(TokenFingerprint.of(endUserToken));
+    }
+
+    /**
+     * Xóa profile của EndUser này khỏi cache, với mọi token của EndUser.
+     */
+    public void invalidateUser(Long endUserId) {
+        invalidations.invalidate(endUserId);
+    }
+
+    public void invalidateAll() {
+        invalidations.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,169 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.dto.ProjectRoleResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bản sao cục bộ danh sách vai trò của project, do {@link AuthClient} quản lý.
+ * Được cập nhật ngay khi tạo/sửa/xóa vai trò qua {@link AuthClient}. Mỗi lần đọc qua {@link AuthClient} vẫn gửi
+ * request có {@code If-None-Match} bằng token của người gọi: server vẫn kiểm tra quyền, và nếu danh sách không đổi
+ * thì chỉ trả về 304 thay vì toàn bộ danh sách.
+ * <p>
+ * Mỗi lần thay đổi tạo ra một snapshot mới (copy-on-write), nên việc đọc không cần khóa
+ * và tìm theo id hoặc tên là O(1).
+ */
+public class ProjectRoleCatalog {
+
+    static final class Snapshot {
+        private final List<ProjectRoleResponse> roles;
+        private final Map<Long, ProjectRoleResponse> byId;
+        private final Map<String, ProjectRoleResponse> byName;
+        private final String etag;
+
+        private Snapshot(List<ProjectRoleResponse> roles, String etag) {
+            this.roles = Collections.unmodifiableList(roles);
+            this.byId = new HashMap<>(roles.size() * 2);
+            this.byName = new HashMap<>(roles.size() * 2);
+            for (ProjectRoleResponse role : roles) {
+                byId.put(role.getId(), role);
+                byName.put(role.getName(), role);
+            }
+            this.etag = etag;
+        }
+
+        List<ProjectRoleResponse> roles() {
+            return roles;
+        }
+
+        ProjectRoleResponse findById(Long roleId) {
+            return byId.get(roleId);
+        }
+
+        ProjectRoleResponse findByName(String name) {
+            return byName.get(name);
+        }
+
+        String etag() {
+            return etag;
+        }
+    }
+
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+    /** Tăng mỗi lần ghi cục bộ, để bỏ qua kết quả tải về đã cũ hơn thay đổi vừa ghi. */
+    private volatile long version;
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Danh sách vai trò (không sửa được); rỗng nếu catalog chưa được tải.
+     */
+    public List<ProjectRoleResponse> getRoles() {
+        Snapshot current = snapshot;
+        return current != null ? current.roles : Collections.emptyList();
+    }
+
+    /**
+     * @return vai trò có id này, hoặc {@code null} nếu không có (hoặc catalog chưa được tải)
+     */
+    public ProjectRoleResponse findById(Long roleId) {
+        Snapshot current = snapshot;
+        return current != null ? current.byId.get(roleId) : null;
+    }
+
+    /**
+     * @return vai trò có tên này (phân biệt hoa thường), hoặc {@code null} nếu không có
+     */
+    public ProjectRoleResponse findByName(String name) {
+        Snapshot current = snapshot;
+        return current != null ? current.byName.get(name) : null;
+    }
+
+    /**
+     * Xóa catalog; lần đọc sau sẽ tải lại toàn bộ từ server.
+     */
+    public void invalidate() {
+        synchronized (writeLock) {
+            snapshot = null;
+            version++;
+        }
+    }
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * Thay toàn bộ catalog bằng danh sách vừa tải, trừ khi đã có thay đổi cục bộ kể từ lúc bắt đầu tải.
+     *
+     * @return snapshot của danh sách vừa tải (kể cả khi không được ghi vào catalog)
+     */
+    Snapshot replaceAll(List<ProjectRoleResponse> roles, String etag, long expectedVersion) {
+        Snapshot loaded = new Snapshot(new ArrayList<>(roles), etag);
+        synchronized (writeLock) {
+            if (version == expectedVersion) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Ghi vai trò vừa tạo/sửa vào catalog. Nếu server không trả về vai trò, catalog bị xóa để tải lại.
+     */
+    void put(ProjectRoleResponse role) {
+        if (role == null || role.getId() == null) {
+            invalidate();
+            return;
+        }
+        synchronized (writeLock) {
+            version++;
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            List<ProjectRoleResponse> roles = new ArrayList<>(current.roles.size() + 1);
+            boolean replaced = false;
+            for (ProjectRoleResponse existing : current.roles) {
+                if (role.getId().equals(existing.getId())) {
+                    roles.add(role);
+                    replaced = true;
+                } else {
+                    roles.add(existing);
+                }
+            }
+            if (!replaced) {
+                roles.add(role);
+            }
+            snapshot = new Snapshot(roles, current.etag);
+        }
+    }
+
+    void remove(Long roleId) {
+        synchronized (writeLock) {
+            version++;
+            Snapshot current = snapshot;
+            if (current == null || !current.byId.containsKey(roleId)) {
+                return;
+            }
+            List<ProjectRoleResponse> roles = new ArrayList<>(current.roles.size());
+            for (ProjectRoleResponse existing : current.roles) {
+                if (!roleId.equals(existing.getId())) {
+                    roles.add(existing);
+                }
+            }
+            snapshot = new Snapshot(roles, current.etag);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Phiên bản non-blocking của {@link AuthClient} dành cho ứng dụng WebFlux.
+ * Mỗi phương thức tương ứng với một phương thức của {@link AuthClient}, nhưng trả về
+ * {@link Mono}/{@link Flux} và không bao giờ chặn thread event-loop.
+ */
+public class ReactiveAuthClient {
+
+    private final WebClient webClient;
+    private final AuthClientProperties properties;
+    private final Duration timeout;
+
+    private final AtomicReference<Long> resolvedProjectId = new AtomicReference<>();
+
+    public ReactiveAuthClient(AuthClientProperties properties, WebClient webClient) {
+        this.properties = properties;
+        this.webClient = webClient;
+        this.timeout = properties.getHttp().getReadTimeout();
+    }
+
+    // ===================================================================
+    // CÁC PHƯƠNG THỨC XÁC THỰC CÔNG KHAI CHO END-USER
+    // ===================================================================
+
+    public Mono<ApiResponse> registerEndUser(EndUserRegisterRequest request) {
+        String url = String.format("%s/api/p/%s/auth/register", properties.getBaseUrl(), properties.getApiKey());
+        return post(url, request, ApiResponse.class);
+    }
+
+    public Mono<AuthResponse> loginEndUser(EndUserLoginRequest request) {
+        String url = String.format("%s/api/p/%s/auth/login", properties.getBaseUrl(), properties.getApiKey());
+        return post(url, request, AuthResponse.class);
+    }
+
+    public Mono<ApiResponse> forgotPassword(ForgotPasswordRequest request) {
+        String url = String.format("%s/api/p/%s/auth/forgot-password", properties.getBaseUrl(), properties.getApiKey());
+        return post(url, request, ApiResponse.class);
+    }
+
+    public Mono<ApiResponse> resetPassword(ResetPasswordRequest request) {
+        String url = String.format("%s/api/p/%s/auth/reset-password", properties.getBaseUrl(), properties.getApiKey());
+        return post(url, request, ApiResponse.class);
+    }
+
+    // ===================================================================
+    // API CÁ NHÂN CỦA END-USER (ĐÃ ĐĂNG NHẬP)
+    // ===================================================================
+
+    private Consumer<HttpHeaders> endUserAuthHeaders(String endUserToken) {
+        if (endUserToken == null || endUserToken.isEmpty()) {
+            throw new IllegalArgumentException("EndUser token cannot be null or empty.");
+        }
+        return headers -> {
+            headers.setBearerAuth(endUserToken);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        };
+    }
+
+    public Mono<EndUserResponse> getMyProfile(String endUserToken) {
+        return Mono.defer(() -> {
+            String url = String.format("%s/api/eu/me", properties.getBaseUrl());
+            return webClient.get().uri(url).headers(endUserAuthHeaders(endUserToken))
+                    .retrieve().bodyToMono(EndUserResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<EndUserResponse> updateMyProfile(String endUserToken, UpdateMyProfileRequest request) {
+        return Mono.defer(() -> {
+            String url = String.format("%s/api/eu/me", properties.getBaseUrl());
+            return webClient.put().uri(url).headers(endUserAuthHeaders(endUserToken)).bodyValue(request)
+                    .retrieve().bodyToMono(EndUserResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<ApiResponse> changeMyPassword(String endUserToken, ChangePasswordRequest request) {
+        return Mono.defer(() -> {
+            String url = String.format("%s/api/eu/me/password", properties.getBaseUrl());
+            return webClient.put().uri(url).headers(endUserAuthHeaders(endUserToken)).bodyValue(request)
+                    .retrieve().bodyToMono(ApiResponse.class).timeout(timeout);
+        });
+    }
+
+    // ===================================================================
+    // CÁC PHƯƠNG THỨC QUẢN LÝ (BỞI OWNER / END-USER ADMIN)
+    // ===================================================================
+
+    private Mono<Long> resolveProjectId() {
+        Long cached = resolvedProjectId.get();
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        if (properties.getApiKey() == null || properties.getApiKey().isEmpty()) {
+            return Mono.error(new IllegalStateException("API Key is not configured. Please set 'auth.client.api-key'."));
+        }
+        String url = String.format("%s/api/public/projects/resolve?apiKey=%s", properties.getBaseUrl(), properties.getApiKey());
+        return webClient.get().uri(url).retrieve().bodyToMono(ProjectIdResponse.class).timeout(timeout)
+                .flatMap(response -> response.getProjectId() != null
+                        ? Mono.just(response.getProjectId())
+                        : Mono.<Long>empty())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Could not resolve projectId for the given API key.")))
+                .doOnNext(resolvedProjectId::set);
+    }
+
+    public Flux<EndUserResponse> getEndUsersForProject(String adminToken) {
+        return resolveProjectId().flatMapMany(projectId -> {
+            String url = String.format("%s/api/projects/%d/endusers", properties.getBaseUrl(), projectId);
+            return webClient.get().uri(url).headers(endUserAuthHeaders(adminToken))
+                    .retrieve().bodyToFlux(EndUserResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<EndUserResponse> updateEndUserDetails(String adminToken, Long endUserId, UpdateEndUserRequest request) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/endusers/%d", properties.getBaseUrl(), projectId, endUserId);
+            return webClient.put().uri(url).headers(endUserAuthHeaders(adminToken)).bodyValue(request)
+                    .retrieve().bodyToMono(EndUserResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<Void> lockEndUser(String adminToken, Long endUserId) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/endusers/%d/lock", properties.getBaseUrl(), projectId, endUserId);
+            return webClient.post().uri(url).headers(endUserAuthHeaders(adminToken))
+                    .retrieve().bodyToMono(Void.class).timeout(timeout);
+        });
+    }
+
+    public Mono<Void> unlockEndUser(String adminToken, Long endUserId) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/endusers/%d/unlock", properties.getBaseUrl(), projectId, endUserId);
+            return webClient.post().uri(url).headers(endUserAuthHeaders(adminToken))
+                    .retrieve().bodyToMono(Void.class).timeout(timeout);
+        });
+    }
+
+    public Mono<EndUserResponse> updateUserRoles(String adminToken, Long endUserId, UpdateEndUserRolesRequest request) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/endusers/%d/roles", properties.getBaseUrl(), projectId, endUserId);
+            return webClient.put().uri(url).headers(endUserAuthHeaders(adminToken)).bodyValue(request)
+                    .retrieve().bodyToMono(EndUserResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<EndUserResponse> addRolesToUser(String adminToken, Long endUserId, UpdateEndUserRolesRequest request) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/endusers/%d/roles", properties.getBaseUrl(), projectId, endUserId);
+            return webClient.post().uri(url).headers(endUserAuthHeaders(adminToken)).bodyValue(request)
+                    .retrieve().bodyToMono(EndUserResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<Void> removeRoleFromUser(String adminToken, Long endUserId, Long roleId) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/endusers/%d/roles/%d", properties.getBaseUrl(), projectId, endUserId, roleId);
+            return webClient.delete().uri(url).headers(endUserAuthHeaders(adminToken))
+                    .retrieve().bodyToMono(Void.class).timeout(timeout);
+        });
+    }
+
+    // --- ProjectRole Management ---
+
+    public Flux<ProjectRoleResponse> getProjectRoles(String adminToken) {
+        return resolveProjectId().flatMapMany(projectId -> {
+            String url = String.format("%s/api/projects/%d/roles", properties.getBaseUrl(), projectId);
+            return webClient.get().uri(url).headers(endUserAuthHeaders(adminToken))
+                    .retrieve().bodyToFlux(ProjectRoleResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<ProjectRoleResponse> createProjectRole(String adminToken, ProjectRoleRequest request) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/roles", properties.getBaseUrl(), projectId);
+            return webClient.post().uri(url).headers(endUserAuthHeaders(adminToken)).bodyValue(request)
+                    .retrieve().bodyToMono(ProjectRoleResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<ProjectRoleResponse> updateProjectRole(String adminToken, Long roleId, ProjectRoleRequest request) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/roles/%d", properties.getBaseUrl(), projectId, roleId);
+            return webClient.put().uri(url).headers(endUserAuthHeaders(adminToken)).bodyValue(request)
+                    .retrieve().bodyToMono(ProjectRoleResponse.class).timeout(timeout);
+        });
+    }
+
+    public Mono<Void> deleteProjectRole(String adminToken, Long roleId) {
+        return resolveProjectId().flatMap(projectId -> {
+            String url = String.format("%s/api/projects/%d/roles/%d", properties.getBaseUrl(), projectId, roleId);
+            return webClient.delete().uri(url).headers(endUserAuthHeaders(adminToken))
+                    .retrieve().bodyToMono(Void.class).timeout(timeout);
+        });
+    }
+
+    private <T> Mono<T> post(String url, Object body, Class<T> responseType) {
+        return webClient.post().uri(url).contentType(MediaType.APPLICATION_JSON).bodyValue(body)
+                .retrieve().bodyToMono(responseType).timeout(timeout);
+    }
+}
@@ -0,0 +1,63 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.resilience.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlInterceptorTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config());
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(limiter, null);
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://auth/api/v1/users"));
+
+    @Test
+    void holdsPermitUntilResponseIsClosed() throws Exception {
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK));
+
+        // Header đã nhận nhưng body chưa đọc xong: suất vẫn bị giữ.
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        response.close();
+        assertThat(limiter.getInFlight()).isZero();
+        response.close();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void releasesPermitAsOverloadedWhenCallFails() {
+        assertThatThrownBy(() -> interceptor.intercept(request, new byte[0], (req, body) -> {
+            throw new IOException("connection refused");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void releasesPermitAsOverloadedOnServerError() throws Exception {
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE));
+        response.close();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    private static AuthClientProperties.ConcurrencyLimit config() {
+        AuthClientProperties.ConcurrencyLimit config = new AuthClientProperties.ConcurrencyLimit();
+        config.setInitialLimit(10);
+        config.setMinLimit(1);
+        config.setBackoffRatio(0.5);
+        return config;
+    }
+}
@@ -0,0 +1,96 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.metrics.AuthClientMetrics;
+import com.authplatform.client.security.TokenValidator;
+import com.authplatform.client.service.AuthClient;
+import com.authplatform.client.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthClientWarmUpTest {
+
+    private final AtomicInteger resolveCalls = new AtomicInteger();
+    private final AtomicInteger validateCalls = new AtomicInteger();
+    private final AtomicInteger headRequests = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private volatile int resolveStatus = 200;
+    private StubHttpServer server;
+    private AuthClientProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        server = new StubHttpServer()
+                .handle("/", exchange -> {
+                    if ("HEAD".equals(exchange.getRequestMethod())) {
+                        headRequests.incrementAndGet();
+                    }
+                    exchange.sendResponseHeaders(404, -1);
+                    exchange.close();
+                })
+                .handle("/api/public/projects/resolve", exchange -> {
+                    resolveCalls.incrementAndGet();
+                    StubHttpServer.respondJson(exchange, resolveStatus, resolveStatus == 200 ? "{\"projectId\":7}" : "{}");
+                })
+                .handle("/api/p/key/auth/validate-token", exchange -> {
+                    validateCalls.incrementAndGet();
+                    StubHttpServer.respondJson(exchange, 401, "{\"valid\":false}");
+                });
+        properties = new AuthClientProperties();
+        properties.setBaseUrl(server.baseUrl());
+        properties.setApiKey("key");
+        properties.getWarmUp().setEnabled(true);
+        properties.getWarmUp().setConnections(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void resolvesProjectIdOncePrewarmsConnectionsAndValidatesDummyToken() throws Exception {
+        AuthClient authClient = new AuthClient(properties, new RestTemplate(), executor, null, AuthClientMetrics.NOOP);
+
+        warmUp(authClient).run(new DefaultApplicationArguments());
+
+        assertThat(resolveCalls.get()).isEqualTo(1);
+        assertThat(headRequests.get()).isEqualTo(3);
+        assertThat(validateCalls.get()).isEqualTo(1);
+        // projectId đã resolve được thấy từ thread khác mà không gọi lại.
+        assertThat(CompletableFuture.supplyAsync(authClient::getProjectId, executor).get(5, TimeUnit.SECONDS)).isEqualTo(7L);
+        assertThat(resolveCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void failsStartupOnlyWhenFailOnErrorIsSet() {
+        resolveStatus = 500;
+        properties.getRetry().setEnabled(false);
+        AuthClient authClient = new AuthClient(properties, new RestTemplate(), executor, null, AuthClientMetrics.NOOP);
+
+        warmUp(authClient).run(new DefaultApplicationArguments());
+        assertThat(headRequests.get()).isZero();
+
+        properties.getWarmUp().setFailOnError(true);
+        assertThatThrownBy(() -> warmUp(authClient).run(new DefaultApplicationArguments()))
+                .isInstanceOf(HttpServerErrorException.class);
+    }
+
+    private AuthClientWarmUp warmUp(AuthClient authClient) {
+        TokenValidator tokenValidator = new TokenValidator(properties, new RestTemplate(), null, null, null, null, AuthClientMetrics.NOOP);
+        return new AuthClientWarmUp(properties, authClient, tokenValidator, new RestTemplate(), executor);
+    }
+}
@@ -0,0 +1,130 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdkTransportTest {
+
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final StubHttpServer server = new StubHttpServer()
+            .handle("/users", exchange -> {
+                acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+                byte[] body = gzip("[{\"id\":1,\"email\":\"a@example.com\"}]");
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            })
+            .handle("/not-modified", exchange -> {
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            })
+            .handle("/slow", exchange -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                StubHttpServer.respondJson(exchange, 200, "{}");
+            });
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfiguration.class, AuthClientHttpConfiguration.class)
+            .withPropertyValues("auth.client.base-url=" + server.baseUrl(), "auth.client.api-key=key",
+                    "auth.client.http.transport=jdk");
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.close();
+    }
+
+    @Test
+    void requestsAndDecodesGzipResponses() {
+        contextRunner.run(context -> {
+            RestTemplate restTemplate = context.getBean(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME, RestTemplate.class);
+
+            String body = restTemplate.getForObject(server.baseUrl() + "/users", String.class);
+
+            assertThat(acceptEncoding.get()).isEqualTo("gzip");
+            assertThat(body).isEqualTo("[{\"id\":1,\"email\":\"a@example.com\"}]");
+        });
+    }
+
+    @Test
+    void acceptsEmptyBodyWithGzipEncoding() {
+        contextRunner.run(context -> {
+            RestTemplate restTemplate = context.getBean(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME, RestTemplate.class);
+
+            ResponseEntity<String> response = restTemplate.getForEntity(server.baseUrl() + "/not-modified", String.class);
+
+            assertThat(response.getStatusCode().value()).isEqualTo(304);
+            assertThat(response.getBody()).isNull();
+        });
+    }
+
+    @Test
+    void doesNotRequestGzipWhenCompressionIsDisabled() {
+        contextRunner.withPropertyValues("auth.client.http.compression=false").run(context -> {
+            RestTemplate restTemplate = context.getBean(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME, RestTemplate.class);
+
+            restTemplate.getForObject(server.baseUrl() + "/users", byte[].class);
+
+            assertThat(acceptEncoding.get()).isNull();
+        });
+    }
+
+    @Test
+    void readTimeoutFollowsRequestDeadline() {
+        contextRunner.run(context -> {
+            RestTemplate restTemplate = context.getBean(AuthClientHttpConfiguration.REST_TEMPLATE_BEAN_NAME, RestTemplate.class);
+            long start = System.nanoTime();
+            Deadline.Scope scope = Deadline.after(Duration.ofMillis(200)).bind();
+            try {
+                assertThatThrownBy(() -> restTemplate.getForObject(server.baseUrl() + "/slow", String.class))
+                        .isInstanceOf(ResourceAccessException.class);
+            } finally {
+                scope.close();
+            }
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        });
+    }
+
+    private static byte[] gzip(String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(AuthClientProperties.class)
+    static class PropertiesConfiguration {
+    }
+}
@@ -0,0 +1,146 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.resilience.AdaptiveConcurrencyLimiter;
+import com.authplatform.client.resilience.EndpointGroup;
+import com.authplatform.client.resilience.HedgingPolicy;
+import com.authplatform.client.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadBalancingClientHttpRequestFactoryTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    /** Âm trong lúc khởi động; 0 là lời gọi đầu tiên của lượt được gửi lại, 1 là lời gọi gửi thêm. */
+    private final AtomicInteger hedgePhase = new AtomicInteger(Integer.MIN_VALUE);
+    private final StubHttpServer first = stub("first");
+    private final StubHttpServer second = stub("second");
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        first.close();
+        second.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void usesFirstInstanceAsBaseUrlWhenBaseUrlIsEmpty() {
+        AuthClientProperties properties = properties();
+        properties.setBaseUrl("");
+
+        assertThat(properties.getBaseUrl()).isEqualTo(first.baseUrl());
+    }
+
+    @Test
+    void sendsOnCallerThreadWhenHedgingExecutorIsSaturated() {
+        AuthClientProperties properties = properties();
+        properties.setBaseUrl("");
+        AtomicInteger rejected = new AtomicInteger();
+        Executor saturated = command -> {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("saturated");
+        };
+        RestTemplate restTemplate = new RestTemplate(new LoadBalancingClientHttpRequestFactory(
+                new SimpleClientHttpRequestFactory(), properties.getBaseUrl(),
+                new EndpointGroup(properties.getLoadBalancer()), new HedgingPolicy(properties.getHedging()), saturated, null));
+
+        // Đủ mẫu để policy có thời gian chờ, rồi thêm các lời gọi phải đi qua executor.
+        for (int i = 0; i < 200; i++) {
+            assertThat(restTemplate.getForObject(properties.getBaseUrl() + "/api/ping", String.class)).isNotEmpty();
+        }
+
+        assertThat(rejected.get()).isPositive();
+        assertThat(calls.get()).isEqualTo(200);
+    }
+
+    @Test
+    void hedgedServerErrorDoesNotWinOverSlowSuccess() {
+        AuthClientProperties properties = properties();
+        properties.setBaseUrl("");
+        RestTemplate restTemplate = new RestTemplate(hedged(properties, null));
+        warmUp(restTemplate, properties);
+
+        // Lời gọi đầu tiên chậm nhưng thành công, lời gọi gửi thêm trả 503 ngay: 503 không được dùng.
+        hedgePhase.set(0);
+        assertThat(restTemplate.getForObject(properties.getBaseUrl() + "/api/hedge", String.class)).isEqualTo("\"slow\"");
+        assertThat(hedgePhase.get()).isEqualTo(2);
+    }
+
+    @Test
+    void hedgeNeedsItsOwnConcurrencyPermit() {
+        AuthClientProperties properties = properties();
+        properties.setBaseUrl("");
+        AuthClientProperties.ConcurrencyLimit config = new AuthClientProperties.ConcurrencyLimit();
+        config.setInitialLimit(1);
+        config.setMinLimit(1);
+        config.setMaxLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config);
+        RestTemplate restTemplate = new RestTemplate(hedged(properties, limiter));
+        restTemplate.getInterceptors().add(new AdmissionControlInterceptor(limiter, null));
+        warmUp(restTemplate, properties);
+
+        // Suất duy nhất đang được lời gọi đầu tiên giữ: lời gọi gửi thêm không được gửi.
+        hedgePhase.set(0);
+        assertThat(restTemplate.getForObject(properties.getBaseUrl() + "/api/hedge", String.class)).isEqualTo("\"slow\"");
+        assertThat(hedgePhase.get()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private LoadBalancingClientHttpRequestFactory hedged(AuthClientProperties properties, AdaptiveConcurrencyLimiter limiter) {
+        properties.getHedging().setMinDelay(Duration.ofMillis(20));
+        return new LoadBalancingClientHttpRequestFactory(new SimpleClientHttpRequestFactory(), properties.getBaseUrl(),
+                new EndpointGroup(properties.getLoadBalancer()), new HedgingPolicy(properties.getHedging()),
+                executor, limiter);
+    }
+
+    private void warmUp(RestTemplate restTemplate, AuthClientProperties properties) {
+        for (int i = 0; i < 64; i++) {
+            assertThat(restTemplate.getForObject(properties.getBaseUrl() + "/api/hedge", String.class)).isEqualTo("\"fast\"");
+        }
+    }
+
+    private AuthClientProperties properties() {
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.getLoadBalancer().setBaseUrls(List.of(first.baseUrl(), second.baseUrl()));
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setMinSamples(32);
+        return properties;
+    }
+
+    private StubHttpServer stub(String name) {
+        return new StubHttpServer().handle("/api/ping", exchange -> {
+            calls.incrementAndGet();
+            StubHttpServer.respondJson(exchange, 200, "\"" + name + "\"");
+        }).handle("/api/hedge", exchange -> {
+            int phase = hedgePhase.getAndIncrement();
+            if (phase < 0) {
+                StubHttpServer.respondJson(exchange, 200, "\"fast\"");
+            } else if (phase == 0) {
+                sleep(300);
+                StubHttpServer.respondJson(exchange, 200, "\"slow\"");
+            } else {
+                StubHttpServer.respondJson(exchange, 503, "{}");
+            }
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.jwt.JwksKeyProvider;
+import com.authplatform.client.security.ReactiveSecurityWebFilter;
+import com.authplatform.client.service.ReactiveAuthClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveAuthClientAutoConfigurationTest {
+
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(WebFluxAutoConfiguration.class, ReactiveAuthClientAutoConfiguration.class))
+            .withPropertyValues("auth.client.base-url=http://127.0.0.1:1", "auth.client.api-key=key");
+
+    @Test
+    void doesNotCreateBlockingHttpClients() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(ReactiveAuthClient.class);
+            assertThat(context).hasSingleBean(ReactiveSecurityWebFilter.class);
+            assertThat(context).doesNotHaveBean(RestTemplate.class);
+            assertThat(context).doesNotHaveBean(CloseableHttpClient.class);
+        });
+    }
+
+    @Test
+    void loadsJwksThroughWebClient() {
+        contextRunner.withPropertyValues("auth.client.jwt.enabled=true", "auth.client.jwt.issuer=https://auth.test")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(JwksKeyProvider.class);
+                    assertThat(context).doesNotHaveBean(RestTemplate.class);
+                });
+    }
+}
@@ -0,0 +1,76 @@
+package com.authplatform.client.config;
+
+import com.authplatform.client.cache.InvalidationBus;
+import com.authplatform.client.cache.LoopbackInvalidationBus;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.security.TokenValidationCache;
+import com.authplatform.client.service.AuthClient;
+import com.authplatform.client.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationCacheInvalidationTest {
+
+    private final StubHttpServer server = new StubHttpServer()
+            .handle("/api/public/projects/resolve", exchange -> StubHttpServer.respondJson(exchange, 200, "{\"projectId\":7}"))
+            .handle("/api/projects/7/endusers/42/lock", exchange -> {
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            });
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(AuthClientAutoConfiguration.class))
+            .withPropertyValues("auth.client.base-url=" + server.baseUrl(), "auth.client.api-key=key",
+                    "auth.client.validation-cache.enabled=true");
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void lockingEndUserEvictsLocalCacheWithoutConfiguredBus() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(InvalidationBus.class);
+            TokenValidationCache cache = context.getBean(TokenValidationCache.class);
+            cache.put("token", user("42"));
+            cache.put("other-token", user("43"));
+
+            context.getBean(AuthClient.class).lockEndUser("admin", 42L);
+
+            assertThat(cache.get("token")).isNull();
+            assertThat(cache.get("other-token")).isNotNull();
+        });
+    }
+
+    @Test
+    void lockingEndUserEvictsCacheOfEveryContextOnTheSharedBus() {
+        LoopbackInvalidationBus bus = new LoopbackInvalidationBus();
+        WebApplicationContextRunner node = contextRunner.withBean(InvalidationBus.class, () -> bus);
+        node.run(first -> node.run(second -> {
+            TokenValidationCache firstCache = first.getBean(TokenValidationCache.class);
+            TokenValidationCache secondCache = second.getBean(TokenValidationCache.class);
+            firstCache.put("token", user("42"));
+            secondCache.put("token", user("42"));
+
+            first.getBean(AuthClient.class).lockEndUser("admin", 42L);
+
+            assertThat(firstCache.get("token")).isNull();
+            assertThat(secondCache.get("token")).isNull();
+        }));
+    }
+
+    private static TokenValidationResponse user(String userId) {
+        TokenValidationResponse response = new TokenValidationResponse();
+        response.setValid(true);
+        response.setUserId(userId);
+        response.setRoles(Set.of("USER"));
+        return response;
+    }
+}
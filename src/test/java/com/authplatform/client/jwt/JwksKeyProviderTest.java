@@ -0,0 +1,95 @@
+package com.authplatform.client.jwt;
+
+import com.authplatform.client.support.TestJwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwksKeyProviderTest {
+
+    private static final KeyPair RSA_KEY = TestJwts.rsaKeyPair();
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofMillis(200);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final String jwks = TestJwts.jwks("rsa-1", RSA_KEY.getPublic());
+    private final ExecutorService callers = Executors.newFixedThreadPool(100);
+    private final JwksKeyProvider keyProvider = new JwksKeyProvider("http://jwks.test/jwks.json", () -> {
+        if (loads.incrementAndGet() > 1) {
+            // Lần tải lại chậm, để các yêu cầu khác đến trong khi nó đang chạy.
+            sleep(50);
+        }
+        return jwks;
+    }, Duration.ofHours(1), MIN_REFRESH_INTERVAL);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        keyProvider.close();
+    }
+
+    @Test
+    void loadsOnceForConcurrentRefreshRequests() throws Exception {
+        awaitLoads(1);
+        sleep(MIN_REFRESH_INTERVAL.toMillis() + 50);
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            callers.execute(() -> {
+                try {
+                    start.await();
+                    keyProvider.requestRefresh();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitLoads(2);
+        // Các yêu cầu đến muộn đều nằm trong min-refresh-interval của lần tải vừa rồi.
+        sleep(100);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(keyProvider.getKey("rsa-1")).isNotNull();
+    }
+
+    @Test
+    void refreshRespectsMinimumInterval() {
+        awaitLoads(1);
+
+        keyProvider.refresh();
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private void awaitLoads(int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() < expected || keyProvider.getKey("rsa-1") == null) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("JWKS was not loaded " + expected + " time(s).");
+            }
+            sleep(5);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.authplatform.client.jwt;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.support.StubHttpServer;
+import com.authplatform.client.support.TestJwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+
+    private static final KeyPair RSA_KEY = TestJwts.rsaKeyPair();
+    private static final KeyPair EC_KEY = TestJwts.ecKeyPair();
+
+    private final AtomicReference<String> jwks = new AtomicReference<>(
+            TestJwts.jwks("rsa-1", RSA_KEY.getPublic(), "ec-1", EC_KEY.getPublic()));
+    private StubHttpServer server;
+    private JwksKeyProvider keyProvider;
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        server = new StubHttpServer().handle("/jwks.json", exchange -> StubHttpServer.respondJson(exchange, 200, jwks.get()));
+        keyProvider = new JwksKeyProvider(server.baseUrl() + "/jwks.json", new RestTemplate(), Duration.ofHours(1), Duration.ZERO);
+        verifier = new JwtVerifier(keyProvider, jwtConfig(), TestJwts.API_KEY);
+        awaitKey("rsa-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyProvider.close();
+        server.close();
+    }
+
+    @Test
+    void acceptsRsaAndEcTokensAndReadsClaims() {
+        TokenValidationResponse rsa = verifier.verify(TestJwts.sign("RS256", "rsa-1", RSA_KEY, TestJwts.claims("42")));
+        TokenValidationResponse ec = verifier.verify(TestJwts.sign("ES256", "ec-1", EC_KEY, TestJwts.claims("43")));
+
+        assertThat(rsa.isValid()).isTrue();
+        assertThat(rsa.getUserId()).isEqualTo("42");
+        assertThat(rsa.getEmail()).isEqualTo("42@example.com");
+        assertThat(rsa.getRoles()).containsExactly("USER");
+        assertThat(rsa.getMaxRoleLevel()).isEqualTo(100);
+        assertThat(ec.getUserId()).isEqualTo("43");
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = TestJwts.sign("RS256", "rsa-1", RSA_KEY, TestJwts.claims("42"));
+        String forged = TestJwts.sign("RS256", "rsa-1", TestJwts.rsaKeyPair(), TestJwts.claims("42"));
+        String tampered = token.substring(0, token.lastIndexOf('.')) + forged.substring(forged.lastIndexOf('.'));
+
+        assertThatThrownBy(() -> verifier.verify(tampered)).isInstanceOf(JwtVerificationException.class);
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        Map<String, Object> claims = TestJwts.claims("42");
+        claims.put("exp", System.currentTimeMillis() / 1000 - 120);
+
+        assertThatThrownBy(() -> verifier.verify(TestJwts.sign("RS256", "rsa-1", RSA_KEY, claims)))
+                .isInstanceOf(JwtVerificationException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void rejectsTokenOfAnotherProject() {
+        Map<String, Object> otherProject = TestJwts.claims("42");
+        otherProject.put("aud", "other-project-api-key");
+        Map<String, Object> noAudience = TestJwts.claims("42");
+        noAudience.remove("aud");
+
+        assertThatThrownBy(() -> verifier.verify(TestJwts.sign("RS256", "rsa-1", RSA_KEY, otherProject)))
+                .isInstanceOf(JwtVerificationException.class)
+                .hasMessageContaining("project");
+        assertThatThrownBy(() -> verifier.verify(TestJwts.sign("RS256", "rsa-1", RSA_KEY, noAudience)))
+                .isInstanceOf(JwtVerificationException.class);
+    }
+
+    @Test
+    void acceptsAudienceArrayContainingThisProject() {
+        Map<String, Object> claims = TestJwts.claims("42");
+        claims.put("aud", List.of("other-project-api-key", TestJwts.API_KEY));
+
+        assertThat(verifier.verify(TestJwts.sign("RS256", "rsa-1", RSA_KEY, claims)).getUserId()).isEqualTo("42");
+    }
+
+    @Test
+    void rejectsUntrustedIssuer() {
+        Map<String, Object> claims = TestJwts.claims("42");
+        claims.put("iss", "https://evil.test");
+
+        assertThatThrownBy(() -> verifier.verify(TestJwts.sign("RS256", "rsa-1", RSA_KEY, claims)))
+                .isInstanceOf(JwtVerificationException.class);
+    }
+
+    @Test
+    void picksUpRotatedKeyAfterUnknownKeyId() {
+        KeyPair rotated = TestJwts.rsaKeyPair();
+        String token = TestJwts.sign("RS256", "rsa-2", rotated, TestJwts.claims("42"));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(UnknownKeyException.class);
+
+        jwks.set(TestJwts.jwks("rsa-2", rotated.getPublic()));
+        keyProvider.requestRefresh();
+        awaitKey("rsa-2");
+
+        assertThat(verifier.verify(token).getUserId()).isEqualTo("42");
+        assertThatThrownBy(() -> verifier.verify(TestJwts.sign("RS256", "rsa-1", RSA_KEY, TestJwts.claims("42"))))
+                .isInstanceOf(UnknownKeyException.class);
+    }
+
+    @Test
+    void reportsUnsupportedAlgorithmInsteadOfRejecting() {
+        assertThatThrownBy(() -> verifier.verify(TestJwts.unsigned("HS256", "rsa-1", TestJwts.claims("42"))))
+                .isInstanceOf(UnsupportedAlgorithmException.class);
+    }
+
+    @Test
+    void requiresIssuer() {
+        AuthClientProperties.Jwt config = jwtConfig();
+        config.setIssuer(null);
+
+        assertThatThrownBy(() -> new JwtVerifier(keyProvider, config, TestJwts.API_KEY))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("auth.client.jwt.issuer");
+    }
+
+    private static AuthClientProperties.Jwt jwtConfig() {
+        AuthClientProperties.Jwt config = new AuthClientProperties.Jwt();
+        config.setEnabled(true);
+        config.setIssuer(TestJwts.ISSUER);
+        config.setClockSkew(Duration.ofSeconds(30));
+        return config;
+    }
+
+    private void awaitKey(String keyId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (keyProvider.getKey(keyId) == null) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("JWKS key " + keyId + " was not loaded.");
+            }
+            keyProvider.requestRefresh();
+            sleep();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.authplatform.client.metrics;
+
+import com.authplatform.client.service.AuthOperation;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class MicrometerAuthClientMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerAuthClientMetrics metrics = new MicrometerAuthClientMetrics(registry);
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    MicrometerAuthClientMetricsTest() {
+        restTemplate.getInterceptors().add(new ResponseStatusInterceptor());
+    }
+
+    @Test
+    void tagsTheRealStatusForBodyOnlyAndExchangeCalls() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://auth.test/login"))
+                .andRespond(withStatus(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body("{}"));
+        server.expect(requestTo("http://auth.test/users"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://auth.test/users/1/lock"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        metrics.recordCall(AuthOperation.LOGIN, () -> restTemplate.postForObject("http://auth.test/login", "{}", String.class));
+        metrics.recordCall(AuthOperation.GET_END_USERS_FOR_PROJECT,
+                () -> restTemplate.exchange("http://auth.test/users", HttpMethod.GET, null, String.class));
+        assertThatThrownBy(() -> metrics.recordCall(AuthOperation.LOCK_END_USER,
+                () -> restTemplate.postForObject("http://auth.test/users/1/lock", null, Void.class)))
+                .isInstanceOf(HttpClientErrorException.class);
+
+        assertThat(timer("login", "201", "SUCCESS").count()).isEqualTo(1);
+        assertThat(timer("getEndUsersForProject", "200", "SUCCESS").count()).isEqualTo(1);
+        assertThat(timer("lockEndUser", "404", "CLIENT_ERROR").count()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void reusesTimerForTheSameTags() {
+        metrics.recordCall(AuthOperation.LOGIN, () -> "local");
+        metrics.recordCall(AuthOperation.LOGIN, () -> "local");
+
+        assertThat(registry.find("auth.client.requests").timers()).hasSize(1);
+        assertThat(timer("login", "NONE", "SUCCESS").count()).isEqualTo(2);
+    }
+
+    private Timer timer(String operation, String status, String outcome) {
+        return registry.get("auth.client.requests")
+                .tag("operation", operation)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
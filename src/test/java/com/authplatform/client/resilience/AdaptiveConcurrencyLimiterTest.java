@@ -0,0 +1,129 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void increasesLimitOnlyWhileItIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config(4));
+
+        // Ít tải: mỗi lần chỉ một lời gọi, giới hạn giữ nguyên.
+        for (int i = 0; i < 20; i++) {
+            limiter.release(limiter.acquire(), false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int round = 0; round < 5; round++) {
+            long[] starts = new long[limiter.getLimit()];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = limiter.acquire();
+            }
+            for (long start : starts) {
+                limiter.release(start, false);
+            }
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(4).isLessThanOrEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void decreasesLimitOnOverloadAndSlowCallsDownToMinLimit() {
+        AuthClientProperties.ConcurrencyLimit config = config(8);
+        config.setBackoffRatio(0.5);
+        config.setLatencyThreshold(Duration.ofMillis(100));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config);
+
+        limiter.release(limiter.acquire(), true);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        // Lời gọi chậm hơn latency-threshold bị coi như quá tải dù thành công.
+        limiter.acquire();
+        limiter.release(System.nanoTime() - Duration.ofSeconds(1).toNanos(), false);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.release(limiter.acquire(), true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void waitsAtMostMaxWaitForAPermit() {
+        AuthClientProperties.ConcurrencyLimit config = config(1);
+        config.setMaxWait(Duration.ofMillis(50));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config);
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(limiter::acquire).isInstanceOf(ConcurrencyLimitExceededException.class);
+        Duration waited = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(waited).isGreaterThanOrEqualTo(Duration.ofMillis(40)).isLessThan(Duration.ofSeconds(1));
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void waitsNoLongerThanRequestDeadline() {
+        AuthClientProperties.ConcurrencyLimit config = config(1);
+        config.setMaxWait(Duration.ofSeconds(10));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config);
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        Deadline.Scope scope = Deadline.after(Duration.ofMillis(50)).bind();
+        try {
+            assertThatThrownBy(limiter::acquire).isInstanceOf(ConcurrencyLimitExceededException.class);
+        } finally {
+            scope.close();
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() {
+        AuthClientProperties.ConcurrencyLimit config = config(1);
+        config.setMaxQueueSize(0);
+        config.setMaxWait(Duration.ofSeconds(10));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config);
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(limiter::acquire).isInstanceOf(ConcurrencyLimitExceededException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void waiterGetsPermitWhenOneIsReleased() throws Exception {
+        AuthClientProperties.ConcurrencyLimit config = config(1);
+        config.setMaxWait(Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", config);
+        long first = limiter.acquire();
+
+        CompletableFuture<Long> waiter = CompletableFuture.supplyAsync(limiter::acquire);
+        Thread.sleep(100);
+        assertThat(waiter).isNotDone();
+        limiter.release(first, false);
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isPositive();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    private static AuthClientProperties.ConcurrencyLimit config(int initialLimit) {
+        AuthClientProperties.ConcurrencyLimit config = new AuthClientProperties.ConcurrencyLimit();
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(1);
+        config.setMaxLimit(10);
+        return config;
+    }
+}
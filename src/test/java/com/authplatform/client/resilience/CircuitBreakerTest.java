@@ -0,0 +1,132 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", config(4));
+
+        breaker.execute(() -> "ok");
+        breaker.execute(() -> "ok");
+        fail(breaker, () -> new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        fail(breaker, () -> new ResourceAccessException("down"));
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> breaker.execute(() -> "ok")).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void opensWhenSlowCallRateReachesThreshold() {
+        AuthClientProperties.CircuitBreaker config = config(2);
+        config.setSlowCallRateThreshold(100);
+        CircuitBreaker breaker = new CircuitBreaker("test", config, Duration.ofMillis(5));
+
+        breaker.execute(() -> sleep(20));
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.execute(() -> sleep(20));
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void clientErrorsAreNotFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", config(2));
+
+        for (int i = 0; i < 10; i++) {
+            fail(breaker, () -> new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void rejectedCallsAreNotRecorded() {
+        CircuitBreaker breaker = new CircuitBreaker("test", config(2));
+
+        fail(breaker, () -> new ResourceAccessException("down"));
+        // Lời gọi bị giới hạn đồng thời từ chối không phải lời gọi thành công: không làm loãng tỉ lệ lỗi.
+        for (int i = 0; i < 10; i++) {
+            fail(breaker, () -> new ConcurrencyLimitExceededException("limited"));
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        fail(breaker, () -> new ResourceAccessException("down"));
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void failedHalfOpenProbeReopensTheBreaker() throws Exception {
+        AuthClientProperties.CircuitBreaker config = config(2);
+        config.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker breaker = new CircuitBreaker("test", config);
+        fail(breaker, () -> new ResourceAccessException("down"));
+        fail(breaker, () -> new ResourceAccessException("down"));
+        Thread.sleep(20);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        fail(breaker, () -> new ResourceAccessException("still down"));
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> breaker.execute(() -> "ok")).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void errorDuringHalfOpenProbeReleasesThePermit() throws Exception {
+        AuthClientProperties.CircuitBreaker config = config(2);
+        config.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker breaker = new CircuitBreaker("test", config);
+
+        for (int i = 0; i < 2; i++) {
+            fail(breaker, () -> new ResourceAccessException("down"));
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        Thread.sleep(20);
+
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        // Suất thử duy nhất đã được trả lại: lời gọi kế tiếp vẫn được đi qua và đóng breaker.
+        assertThat(breaker.execute(() -> "ok")).isEqualTo("ok");
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private static AuthClientProperties.CircuitBreaker config(int windowSize) {
+        AuthClientProperties.CircuitBreaker config = new AuthClientProperties.CircuitBreaker();
+        config.setSlidingWindowSize(windowSize);
+        config.setMinimumNumberOfCalls(windowSize);
+        config.setWaitDurationInOpenState(Duration.ofMillis(10));
+        return config;
+    }
+
+    private static void fail(CircuitBreaker breaker, Supplier<RuntimeException> error) {
+        RuntimeException expected = error.get();
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw expected;
+        })).isSameAs(expected);
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+        return "ok";
+    }
+}
@@ -0,0 +1,47 @@
+package com.authplatform.client.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    void startsWithReserveAndRunsOut() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void refillsByRatioOfCalls() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+        budget.tryAcquire();
+        budget.tryAcquire();
+
+        for (int i = 0; i < 9; i++) {
+            budget.recordCall();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+        budget.recordCall();
+
+        // Mười lời gọi góp đủ một suất.
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void neverHoldsMoreThanReserve() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+
+        for (int i = 0; i < 1000; i++) {
+            budget.recordCall();
+        }
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+}
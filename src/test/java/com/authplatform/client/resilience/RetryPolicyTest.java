@@ -0,0 +1,161 @@
+package com.authplatform.client.resilience;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.service.AuthOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryPolicyTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void retriesTransientErrorsUpToMaxAttempts() {
+        RetryPolicy policy = new RetryPolicy(config());
+
+        assertThat(policy.execute(AuthOperation.LOCK_END_USER, failTimes(2, () -> new ResourceAccessException("timeout"))))
+                .isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+
+        attempts.set(0);
+        assertThatThrownBy(() -> policy.execute(AuthOperation.LOCK_END_USER,
+                failTimes(10, () -> new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryNonTransientErrors() {
+        RetryPolicy policy = new RetryPolicy(config());
+
+        assertNotRetried(policy, () -> new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertNotRetried(policy, () -> new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+        assertNotRetried(policy, () -> new CallNotPermittedException("circuit breaker open"));
+        assertNotRetried(policy, () -> new DeadlineExceededException("deadline exceeded"));
+    }
+
+    @Test
+    void retriesNonIdempotentOperationOnlyWhenEnabled() {
+        AuthClientProperties.Retry config = config();
+        RetryPolicy policy = new RetryPolicy(config);
+
+        assertThat(policy.maxAttempts(AuthOperation.REGISTER)).isEqualTo(1);
+        assertThatThrownBy(() -> policy.execute(AuthOperation.REGISTER, failTimes(1, () -> new ResourceAccessException("timeout"))))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+
+        AuthClientProperties.Retry.Operation register = new AuthClientProperties.Retry.Operation();
+        register.setEnabled(true);
+        config.getOperations().put(AuthOperation.REGISTER, register);
+        attempts.set(0);
+
+        assertThat(policy.execute(AuthOperation.REGISTER, failTimes(1, () -> new ResourceAccessException("timeout"))))
+                .isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsRetryingWhenBudgetIsExhausted() {
+        AuthClientProperties.Retry config = config();
+        config.setBudgetRatio(0);
+        config.setBudgetReserve(1);
+        RetryPolicy policy = new RetryPolicy(config);
+
+        assertThat(policy.execute(AuthOperation.LOCK_END_USER, failTimes(1, () -> new ResourceAccessException("timeout"))))
+                .isEqualTo("ok");
+        attempts.set(0);
+
+        assertThatThrownBy(() -> policy.execute(AuthOperation.LOCK_END_USER, failTimes(1, () -> new ResourceAccessException("timeout"))))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void capsBackoffAtMaxBackoff() {
+        AuthClientProperties.Retry config = config();
+        config.setMaxAttempts(5);
+        config.setInitialBackoff(Duration.ofMillis(20));
+        config.setMultiplier(10);
+        config.setMaxBackoff(Duration.ofMillis(30));
+        RetryPolicy policy = new RetryPolicy(config);
+
+        long start = System.nanoTime();
+        assertThat(policy.execute(AuthOperation.LOCK_END_USER, failTimes(4, () -> new ResourceAccessException("timeout"))))
+                .isEqualTo("ok");
+
+        // Không có max-backoff thì mức chờ là 20ms, 200ms, 2s, 20s; có max-backoff thì tổng không quá 110ms.
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(attempts.get()).isEqualTo(5);
+    }
+
+    @Test
+    void doesNotSleepPastRequestDeadline() {
+        AuthClientProperties.Retry config = config();
+        config.setInitialBackoff(Duration.ofSeconds(10));
+        config.setMaxBackoff(Duration.ofSeconds(10));
+        RetryPolicy policy = new RetryPolicy(config);
+
+        long start = System.nanoTime();
+        Deadline.Scope scope = Deadline.after(Duration.ofMillis(50)).bind();
+        try {
+            // Thời gian chờ ngẫu nhiên gần như chắc chắn vượt deadline: lỗi được trả về ngay thay vì chờ.
+            assertThatThrownBy(() -> policy.execute(AuthOperation.LOCK_END_USER,
+                    failTimes(10, () -> new ResourceAccessException("timeout")))).isInstanceOf(ResourceAccessException.class);
+        } finally {
+            scope.close();
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void bindsOperationsByKebabCaseConstantName() {
+        AuthClientProperties properties = new Binder(new MapConfigurationPropertySource(Map.of(
+                "auth.client.retry.operations.forgot-password.enabled", "true",
+                "auth.client.retry.operations.lock-end-user.max-attempts", "5")))
+                .bind("auth.client", AuthClientProperties.class).get();
+        RetryPolicy policy = new RetryPolicy(properties.getRetry());
+
+        assertThat(properties.getRetry().isEnabled()).isFalse();
+        assertThat(policy.maxAttempts(AuthOperation.FORGOT_PASSWORD)).isEqualTo(3);
+        assertThat(policy.maxAttempts(AuthOperation.LOCK_END_USER)).isEqualTo(5);
+        assertThat(policy.maxAttempts(AuthOperation.REGISTER)).isEqualTo(1);
+    }
+
+    private void assertNotRetried(RetryPolicy policy, Supplier<RuntimeException> error) {
+        attempts.set(0);
+        assertThatThrownBy(() -> policy.execute(AuthOperation.LOCK_END_USER, failTimes(1, error)))
+                .isInstanceOf(error.get().getClass());
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    private Supplier<String> failTimes(int failures, Supplier<RuntimeException> error) {
+        return () -> {
+            if (attempts.incrementAndGet() <= failures) {
+                throw error.get();
+            }
+            return "ok";
+        };
+    }
+
+    private static AuthClientProperties.Retry config() {
+        AuthClientProperties.Retry config = new AuthClientProperties.Retry();
+        config.setEnabled(true);
+        config.setInitialBackoff(Duration.ofMillis(1));
+        config.setMaxBackoff(Duration.ofMillis(5));
+        return config;
+    }
+}
@@ -0,0 +1,52 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathRulesTest {
+
+    private final PathRules rules = new PathRules(List.of(
+            rule("/admin", 100),
+            rule("/api/**", 10)), new RoleIndex());
+
+    @Test
+    void exactRuleMatchesPlainPath() {
+        assertThat(rules.match("GET", path("/admin")).level).isEqualTo(100);
+    }
+
+    @Test
+    void exactRuleMatchesPathWithMatrixParameters() {
+        assertThat(rules.match("GET", path("/admin;x=1")).level).isEqualTo(100);
+    }
+
+    @Test
+    void exactRuleMatchesPercentEncodedPath() {
+        assertThat(rules.match("GET", path("/adm%69n")).level).isEqualTo(100);
+    }
+
+    @Test
+    void otherPathsAreNotMatchedByExactRule() {
+        assertThat(rules.match("GET", path("/administrator"))).isNull();
+        assertThat(rules.match("GET", path("/api/users;x=1")).level).isEqualTo(10);
+    }
+
+    /**
+     * Đường dẫn thô như {@link AuthorizationFilter} nhận từ request URI.
+     */
+    private static PathContainer path(String requestUri) {
+        return RequestPath.parse(requestUri, null).pathWithinApplication();
+    }
+
+    private static AuthClientProperties.Filter.Rule rule(String pattern, int level) {
+        AuthClientProperties.Filter.Rule rule = new AuthClientProperties.Filter.Rule();
+        rule.setPattern(pattern);
+        rule.setLevel(level);
+        return rule;
+    }
+}
@@ -0,0 +1,59 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveSecurityWebFilterTest {
+
+    private final AtomicInteger passed = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        passed.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @Test
+    void checksHandlerRegisteredAfterFirstRequest() throws Exception {
+        RequestMappingHandlerMapping handlerMapping = new RequestMappingHandlerMapping();
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.refresh();
+        handlerMapping.setApplicationContext(context);
+        handlerMapping.afterPropertiesSet();
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.setApiKey("key");
+        ReactiveSecurityWebFilter filter = new ReactiveSecurityWebFilter(handlerMapping,
+                new ReactiveTokenValidator(properties, WebClient.create(), null, null));
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/open")), chain).block(Duration.ofSeconds(5));
+        assertThat(passed.get()).isEqualTo(1);
+
+        handlerMapping.registerMapping(RequestMappingInfo.paths("/admin").build(), new AdminController(),
+                AdminController.class.getMethod("report"));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/admin"));
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(passed.get()).isEqualTo(1);
+    }
+
+    static class AdminController {
+
+        @RequiresProjectRole("ADMIN")
+        public String report() {
+            return "report";
+        }
+    }
+}
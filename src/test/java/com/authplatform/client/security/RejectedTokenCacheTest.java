@@ -0,0 +1,82 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RejectedTokenCacheTest {
+
+    private final AuthClientProperties.NegativeCache config = new AuthClientProperties.NegativeCache();
+
+    @Test
+    void forgetsRejectedTokenAfterTtl() throws Exception {
+        config.setTtl(Duration.ofMillis(50));
+        RejectedTokenCache cache = new RejectedTokenCache(config);
+
+        cache.reject("token");
+        assertThat(cache.isRejected("token")).isTrue();
+        Thread.sleep(100);
+
+        assertThat(cache.isRejected("token")).isFalse();
+    }
+
+    @Test
+    void evictsOldestRejectedTokenFirstEvenWhenReadRecently() {
+        config.setMaxSize(4);
+        RejectedTokenCache cache = new RejectedTokenCache(config);
+        for (int i = 1; i <= 4; i++) {
+            cache.reject("token-" + i);
+        }
+        assertThat(cache.isRejected("token-1")).isTrue();
+
+        cache.reject("token-5");
+
+        assertThat(cache.isRejected("token-1")).isFalse();
+        assertThat(cache.isRejected("token-2")).isTrue();
+        assertThat(cache.isRejected("token-5")).isTrue();
+    }
+
+    @Test
+    void blocksClientOnlyWithinItsFailureWindow() throws Exception {
+        config.setMaxFailuresPerClient(2);
+        config.setFailureWindow(Duration.ofMillis(100));
+        RejectedTokenCache cache = new RejectedTokenCache(config);
+
+        cache.recordClientFailure("10.0.0.1");
+        assertThat(cache.isClientBlocked("10.0.0.1")).isFalse();
+        cache.recordClientFailure("10.0.0.1");
+
+        assertThat(cache.isClientBlocked("10.0.0.1")).isTrue();
+        assertThat(cache.isClientBlocked("10.0.0.2")).isFalse();
+        Thread.sleep(150);
+        assertThat(cache.isClientBlocked("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void stopsTrackingNewClientsAtMaxTrackedClients() {
+        config.setMaxFailuresPerClient(1);
+        config.setMaxTrackedClients(2);
+        RejectedTokenCache cache = new RejectedTokenCache(config);
+
+        cache.recordClientFailure("10.0.0.1");
+        cache.recordClientFailure("10.0.0.2");
+        cache.recordClientFailure("10.0.0.3");
+
+        assertThat(cache.isClientBlocked("10.0.0.1")).isTrue();
+        assertThat(cache.isClientBlocked("10.0.0.3")).isFalse();
+    }
+
+    @Test
+    void perClientLimitIsOffByDefault() {
+        RejectedTokenCache cache = new RejectedTokenCache(config);
+
+        for (int i = 0; i < 100; i++) {
+            cache.recordClientFailure("10.0.0.1");
+        }
+
+        assertThat(cache.isClientBlocked("10.0.0.1")).isFalse();
+    }
+}
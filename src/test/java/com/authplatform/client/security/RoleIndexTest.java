@@ -0,0 +1,32 @@
+package com.authplatform.client.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleIndexTest {
+
+    private final RoleIndex roleIndex = new RoleIndex();
+
+    @Test
+    void matchesUserRolesAgainstRequiredRoles() {
+        RoleSet admin = roleIndex.require(new String[]{"ADMIN", "OWNER"});
+
+        assertThat(roleIndex.userRoles(List.of("USER", "OWNER")).intersects(admin)).isTrue();
+        assertThat(roleIndex.userRoles(List.of("USER")).intersects(admin)).isFalse();
+    }
+
+    @Test
+    void ignoresRolesNoRequirementMentions() {
+        roleIndex.require(new String[]{"ADMIN"});
+
+        for (int i = 0; i < 1000; i++) {
+            roleIndex.userRoles(List.of("role-" + i));
+        }
+
+        assertThat(roleIndex.size()).isEqualTo(1);
+        assertThat(roleIndex.userRoles(List.of("role-1", "role-2"))).isSameAs(RoleSet.EMPTY);
+    }
+}
@@ -0,0 +1,180 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.TokenValidationResponse;
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.resilience.DeadlineExceededException;
+import com.authplatform.client.support.StubHttpServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenValidationBatcherTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blockResponses;
+    private StubHttpServer server;
+    private TokenValidationBatcher batcher;
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void setUp() {
+        // Trả về một kết quả cho mỗi token, với userId là chính token đó.
+        server = new StubHttpServer().handle("/api/p/key/auth/validate-tokens", exchange -> {
+            batchCalls.incrementAndGet();
+            JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+            if (blockResponses) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<String> results = new ArrayList<>();
+            for (JsonNode token : request.path("tokens")) {
+                results.add("{\"valid\":true,\"userId\":\"" + token.asText() + "\"}");
+            }
+            StubHttpServer.respondJson(exchange, 200, "[" + String.join(",", results) + "]");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (batcher != null) {
+            batcher.close();
+        }
+        callers.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void fansOutOneBatchResultToEveryWaitingCaller() throws Exception {
+        batcher = new TokenValidationBatcher(properties(50, 1000, 4, Duration.ofMillis(100)), new RestTemplate());
+        List<CompletableFuture<TokenValidationResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String token = "token-" + i;
+            results.add(CompletableFuture.supplyAsync(() -> batcher.validate(token, () -> {
+                throw new AssertionError("Queue should not be full.");
+            }), callers));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS).getUserId()).isEqualTo("token-" + i);
+        }
+        assertThat(batchCalls.get()).isLessThan(20);
+    }
+
+    @Test
+    void stopsWaitingForStuckBatchAfterHttpTimeouts() {
+        blockResponses = true;
+        AuthClientProperties properties = properties(50, 1000, 4, Duration.ofMillis(5));
+        properties.getHttp().setConnectionRequestTimeout(Duration.ofMillis(50));
+        properties.getHttp().setConnectTimeout(Duration.ofMillis(50));
+        properties.getHttp().setReadTimeout(Duration.ofMillis(200));
+        // RestTemplate không có timeout: chính batcher phải thôi chờ.
+        batcher = new TokenValidationBatcher(properties, new RestTemplate());
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> batcher.validate("token", () -> null)).isInstanceOf(ResourceAccessException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void stopsWaitingWhenRequestDeadlineExpires() {
+        blockResponses = true;
+        batcher = new TokenValidationBatcher(properties(50, 1000, 4, Duration.ofMillis(5)), new RestTemplate());
+
+        long start = System.nanoTime();
+        Deadline.Scope scope = Deadline.after(Duration.ofMillis(100)).bind();
+        try {
+            assertThatThrownBy(() -> batcher.validate("token", () -> null)).isInstanceOf(DeadlineExceededException.class);
+        } finally {
+            scope.close();
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void sendsBatchWithTheCallersDeadline() {
+        AtomicReference<Deadline> senderDeadline = new AtomicReference<>();
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            senderDeadline.set(Deadline.current());
+            return execution.execute(request, body);
+        });
+        batcher = new TokenValidationBatcher(properties(50, 1000, 4, Duration.ofMillis(5)), restTemplate);
+
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+        Deadline.Scope scope = deadline.bind();
+        try {
+            assertThat(batcher.validate("token", () -> null).getUserId()).isEqualTo("token");
+        } finally {
+            scope.close();
+        }
+        assertThat(senderDeadline.get()).isSameAs(deadline);
+    }
+
+    @Test
+    void validatesDirectlyWhenQueueIsFull() throws Exception {
+        blockResponses = true;
+        batcher = new TokenValidationBatcher(properties(1, 1, 1, Duration.ofMillis(5)), new RestTemplate());
+        // Batch đầu tiên chiếm suất gửi duy nhất, token thứ hai nằm trong hàng đợi (sức chứa 1).
+        CompletableFuture<TokenValidationResponse> sent = CompletableFuture.supplyAsync(() -> batcher.validate("a", () -> null), callers);
+        awaitBatchCalls(1);
+        CompletableFuture<TokenValidationResponse> queued = CompletableFuture.supplyAsync(() -> batcher.validate("b", () -> null), callers);
+        Thread.sleep(100);
+
+        TokenValidationResponse direct = new TokenValidationResponse();
+        direct.setUserId("direct");
+        assertThat(batcher.validate("c", () -> direct)).isSameAs(direct);
+
+        release.countDown();
+        assertThat(sent.get(5, TimeUnit.SECONDS).getUserId()).isEqualTo("a");
+        assertThat(queued.get(5, TimeUnit.SECONDS).getUserId()).isEqualTo("b");
+    }
+
+    private AuthClientProperties properties(int maxBatchSize, int maxQueueSize, int maxConcurrentBatches, Duration maxWait) {
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.setApiKey("key");
+        properties.setBaseUrl(server.baseUrl());
+        AuthClientProperties.BatchValidation config = properties.getBatchValidation();
+        config.setEnabled(true);
+        config.setMaxBatchSize(maxBatchSize);
+        config.setMaxQueueSize(maxQueueSize);
+        config.setMaxConcurrentBatches(maxConcurrentBatches);
+        config.setMaxWait(maxWait);
+        return properties;
+    }
+
+    private void awaitBatchCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batchCalls.get() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Batch call was not sent.");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.authplatform.client.security;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.jwt.JwksKeyProvider;
+import com.authplatform.client.jwt.JwtVerifier;
+import com.authplatform.client.support.TestJwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class TokenValidatorJwtFallbackTest {
+
+    // JWKS không tải được: chỉ các token không cần khóa mới đi qua bộ xác thực cục bộ trong test này.
+    private final JwksKeyProvider keyProvider = new JwksKeyProvider("http://127.0.0.1:1/jwks.json", new RestTemplate(),
+            Duration.ofHours(1), Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        keyProvider.close();
+    }
+
+    @Test
+    void validatesTokenWithUnsupportedAlgorithmRemotely() {
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.setBaseUrl("http://auth.test");
+        properties.setApiKey(TestJwts.API_KEY);
+        properties.getJwt().setIssuer(TestJwts.ISSUER);
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://auth.test/api/p/" + TestJwts.API_KEY + "/auth/validate-token"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"valid\":true,\"userId\":\"42\",\"roles\":[\"USER\"]}", MediaType.APPLICATION_JSON));
+        RejectedTokenCache rejectedTokens = new RejectedTokenCache(properties.getNegativeCache());
+        TokenValidator validator = new TokenValidator(properties, restTemplate, null,
+                new JwtVerifier(keyProvider, properties.getJwt(), TestJwts.API_KEY), null, null, null, rejectedTokens);
+        String token = TestJwts.unsigned("HS256", "hmac-1", TestJwts.claims("42"));
+
+        assertThat(validator.validate(token).getUserId()).isEqualTo("42");
+        assertThat(rejectedTokens.isRejected(token)).isFalse();
+        server.verify();
+    }
+}
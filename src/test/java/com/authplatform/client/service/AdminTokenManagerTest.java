@@ -0,0 +1,142 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.metrics.AuthClientMetrics;
+import com.authplatform.client.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdminTokenManagerTest {
+
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger roleCalls = new AtomicInteger();
+    /** Token mà endpoint roles chấp nhận; các token khác nhận 401. */
+    private final Set<String> acceptedTokens = ConcurrentHashMap.newKeySet();
+    private final ExecutorService callers = Executors.newFixedThreadPool(10);
+    private StubHttpServer server;
+    private AuthClientProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        server = new StubHttpServer()
+                .handle("/api/p/key/auth/login", exchange -> {
+                    int login = logins.incrementAndGet();
+                    try {
+                        // Đăng nhập chậm, để các thread khác đến trong lúc nó đang chạy.
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    StubHttpServer.respondJson(exchange, 200, "{\"accessToken\":\"admin-" + login + "\"}");
+                })
+                .handle("/api/public/projects/resolve", exchange -> StubHttpServer.respondJson(exchange, 200, "{\"projectId\":7}"))
+                .handle("/api/projects/7/roles", exchange -> {
+                    roleCalls.incrementAndGet();
+                    String token = exchange.getRequestHeaders().getFirst("Authorization").substring("Bearer ".length());
+                    if (acceptedTokens.contains(token)) {
+                        StubHttpServer.respondJson(exchange, 200, "[]");
+                    } else {
+                        StubHttpServer.respondJson(exchange, 401, "{}");
+                    }
+                });
+        properties = new AuthClientProperties();
+        properties.setBaseUrl(server.baseUrl());
+        properties.setApiKey("key");
+        properties.getAdmin().setEmail("admin@example.com");
+        properties.getAdmin().setPassword("secret");
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void concurrentFirstCallsShareOneLogin() throws Exception {
+        AuthClient client = client();
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<String>> tokens = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tokens.add(CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return client.getAdminToken();
+            }, callers));
+        }
+        start.countDown();
+
+        for (CompletableFuture<String> token : tokens) {
+            assertThat(token.get(5, TimeUnit.SECONDS)).isEqualTo("admin-1");
+        }
+        assertThat(logins.get()).isEqualTo(1);
+    }
+
+    @Test
+    void renewsTokenInBackgroundBeforeItExpires() throws Exception {
+        properties.getAdmin().setTokenLifetime(Duration.ofMillis(1000));
+        properties.getAdmin().setRenewBefore(Duration.ofMillis(200));
+        AuthClient client = client();
+
+        assertThat(client.getAdminToken()).isEqualTo("admin-1");
+
+        // Chỉ chờ mà không gọi: token mới phải đến từ lịch làm mới ở background.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (logins.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(logins.get()).isEqualTo(2);
+        Thread.sleep(200);
+        assertThat(client.getAdminToken()).isEqualTo("admin-2");
+    }
+
+    @Test
+    void retriesExactlyOnceWithNewTokenAfter401() {
+        acceptedTokens.add("admin-2");
+        AuthClient client = client();
+
+        assertThat(client.getProjectRoles()).isEmpty();
+
+        assertThat(logins.get()).isEqualTo(2);
+        assertThat(roleCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void givesUpWhenTheNewTokenIsAlsoRejected() {
+        AuthClient client = client();
+
+        assertThatThrownBy(client::getProjectRoles).isInstanceOf(HttpClientErrorException.Unauthorized.class);
+
+        assertThat(logins.get()).isEqualTo(2);
+        assertThat(roleCalls.get()).isEqualTo(2);
+    }
+
+    private AuthClient client() {
+        return new AuthClient(properties, new RestTemplate(), callers, null, AuthClientMetrics.NOOP);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.BulkItemResult;
+import com.authplatform.client.dto.BulkOperationResult;
+import com.authplatform.client.metrics.AuthClientMetrics;
+import com.authplatform.client.resilience.Deadline;
+import com.authplatform.client.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthClientBulkTest {
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final ExecutorService asyncExecutor = Executors.newFixedThreadPool(8);
+    private StubHttpServer server;
+    private AuthClientProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        server = new StubHttpServer()
+                .handle("/api/public/projects/resolve", exchange -> StubHttpServer.respondJson(exchange, 200, "{\"projectId\":7}"))
+                .handle("/api/projects/7/endusers", exchange -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(30);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                    // EndUser 3 không tồn tại.
+                    boolean missing = exchange.getRequestURI().getPath().contains("/endusers/3/");
+                    StubHttpServer.respondJson(exchange, missing ? 404 : 200, missing ? "{\"message\":\"not found\"}" : "{}");
+                });
+        properties = new AuthClientProperties();
+        properties.setBaseUrl(server.baseUrl());
+        properties.setApiKey("key");
+        properties.getBulk().setConcurrency(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncExecutor.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void runsAtMostConfiguredConcurrencyAndReportsEachFailure() {
+        AuthClient client = new AuthClient(properties, new RestTemplate(), asyncExecutor, null, AuthClientMetrics.NOOP);
+
+        BulkOperationResult result = client.lockEndUsers("admin", List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L));
+
+        assertThat(result.getTotal()).isEqualTo(9);
+        assertThat(result.getItems()).extracting(BulkItemResult::getEndUserId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(result.getSucceeded()).isEqualTo(8);
+        assertThat(result.getFailures()).singleElement().satisfies(failure -> {
+            assertThat(failure.getEndUserId()).isEqualTo(3L);
+            assertThat(failure.getStatusCode()).isEqualTo(404);
+        });
+        assertThat(maxRunning.get()).isBetween(2, 3);
+    }
+
+    @Test
+    void helperThreadsCarryTheCallersDeadline() {
+        Set<String> threadsWithoutDeadline = ConcurrentHashMap.newKeySet();
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            if (Deadline.current() == null) {
+                threadsWithoutDeadline.add(Thread.currentThread().getName());
+            }
+            return execution.execute(request, body);
+        });
+        AuthClient client = new AuthClient(properties, restTemplate, asyncExecutor, null, AuthClientMetrics.NOOP);
+
+        BulkOperationResult result;
+        Deadline.Scope scope = Deadline.after(Duration.ofSeconds(10)).bind();
+        try {
+            result = client.unlockEndUsers("admin", List.of(1L, 2L, 4L, 5L, 6L, 7L));
+        } finally {
+            scope.close();
+        }
+
+        assertThat(result.isAllSucceeded()).isTrue();
+        assertThat(threadsWithoutDeadline).isEmpty();
+        assertThat(result.getItems().stream().map(BulkItemResult::getEndUserId).collect(Collectors.toList()))
+                .containsExactly(1L, 2L, 4L, 5L, 6L, 7L);
+    }
+}
@@ -0,0 +1,100 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.config.AuthClientProperties;
+import com.authplatform.client.dto.ChangePasswordRequest;
+import com.authplatform.client.dto.UpdateMyProfileRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class AuthClientProfileCacheTest {
+
+    private static final String ME_URL = "http://auth.test/api/eu/me";
+
+    private MockRestServiceServer server;
+    private AuthClient client;
+
+    @BeforeEach
+    void setUp() {
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.setBaseUrl("http://auth.test");
+        properties.setApiKey("key");
+        properties.getProfileCache().setEnabled(true);
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new AuthClient(properties, restTemplate);
+    }
+
+    @Test
+    void updateMyProfileWritesThroughForThisSessionAndEvictsOtherSessions() {
+        expectProfile("phone", "Old Name");
+        expectProfile("laptop", "Old Name");
+        server.expect(requestTo(ME_URL)).andExpect(method(HttpMethod.PUT))
+                .andRespond(withSuccess(profile("New Name"), MediaType.APPLICATION_JSON));
+        expectProfile("laptop", "New Name");
+
+        client.getMyProfile("phone");
+        client.getMyProfile("laptop");
+        client.updateMyProfile("phone", new UpdateMyProfileRequest());
+
+        assertThat(client.getMyProfile("phone").getFullName()).isEqualTo("New Name");
+        assertThat(client.getMyProfile("laptop").getFullName()).isEqualTo("New Name");
+        server.verify();
+    }
+
+    @Test
+    void changeMyPasswordEvictsEverySessionOfTheUser() {
+        expectProfile("phone", "Name");
+        expectProfile("laptop", "Name");
+        server.expect(requestTo(ME_URL + "/password")).andExpect(method(HttpMethod.PUT))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        expectProfile("phone", "Name");
+        expectProfile("laptop", "Name");
+
+        client.getMyProfile("phone");
+        client.getMyProfile("laptop");
+        client.changeMyPassword("phone", new ChangePasswordRequest());
+
+        client.getMyProfile("phone");
+        client.getMyProfile("laptop");
+        server.verify();
+    }
+
+    @Test
+    void adminCallEvictsTheEndUsersProfile() {
+        expectProfile("phone", "Name");
+        server.expect(requestTo("http://auth.test/api/public/projects/resolve?apiKey=key"))
+                .andRespond(withSuccess("{\"projectId\":7}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://auth.test/api/projects/7/endusers/5/lock")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess());
+        expectProfile("phone", "Name");
+
+        client.getMyProfile("phone");
+        assertThat(client.getMyProfile("phone").getFullName()).isEqualTo("Name");
+        client.lockEndUser("admin", 5L);
+
+        client.getMyProfile("phone");
+        server.verify();
+    }
+
+    private void expectProfile(String token, String fullName) {
+        server.expect(requestTo(ME_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andRespond(withSuccess(profile(fullName), MediaType.APPLICATION_JSON));
+    }
+
+    private static String profile(String fullName) {
+        return "{\"id\":5,\"fullName\":\"" + fullName + "\",\"email\":\"user@example.com\"}";
+    }
+}
@@ -0,0 +1,58 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.config.AuthClientProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class AuthClientRoleCatalogTest {
+
+    private static final String ROLES_URL = "http://auth.test/api/projects/7/roles";
+
+    @Test
+    void revalidatesCachedCatalogWithEveryCallersToken() {
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.setBaseUrl("http://auth.test");
+        properties.setApiKey("key");
+        properties.getRoleCatalog().setEnabled(true);
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://auth.test/api/public/projects/resolve?apiKey=key"))
+                .andRespond(withSuccess("{\"projectId\":7}", MediaType.APPLICATION_JSON));
+        HttpHeaders etag = new HttpHeaders();
+        etag.setETag("\"v1\"");
+        server.expect(requestTo(ROLES_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer admin"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("[{\"id\":1,\"name\":\"ADMIN\"}]", MediaType.APPLICATION_JSON).headers(etag));
+        server.expect(requestTo(ROLES_URL))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer admin"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+        server.expect(requestTo(ROLES_URL))
+                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer stranger"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN));
+        AuthClient client = new AuthClient(properties, restTemplate);
+
+        assertThat(client.getProjectRoles("admin")).hasSize(1);
+        assertThat(client.findProjectRoleByName("admin", "ADMIN").getId()).isEqualTo(1L);
+        assertThatThrownBy(() -> client.findProjectRoleById("stranger", 1L)).isInstanceOf(HttpClientErrorException.Forbidden.class);
+        server.verify();
+    }
+}
@@ -0,0 +1,64 @@
+package com.authplatform.client.service;
+
+import com.authplatform.client.dto.EndUserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndUserIteratorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requestedPages = new AtomicInteger();
+
+    @Test
+    void readsPagesUntilShortPage() {
+        List<Long> ids = readAll(page -> page == 0 ? body("[{\"id\":1},{\"id\":2}]") : body("[{\"id\":3}]"));
+
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+        assertThat(requestedPages.get()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsWhenServerIgnoresPagingAndReturnsExactlyOnePageSize() {
+        List<Long> ids = readAll(page -> body("[{\"id\":1},{\"id\":2}]"));
+
+        assertThat(ids).containsExactly(1L, 2L);
+        assertThat(requestedPages.get()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsAtEmptyPage() {
+        List<Long> ids = readAll(page -> page == 0 ? body("[{\"id\":1},{\"id\":2}]") : body("[]"));
+
+        assertThat(ids).containsExactly(1L, 2L);
+        assertThat(requestedPages.get()).isEqualTo(2);
+    }
+
+    private List<Long> readAll(IntFunction<ClientHttpResponse> pages) {
+        List<Long> ids = new ArrayList<>();
+        try (EndUserIterator iterator = new EndUserIterator(page -> {
+            requestedPages.incrementAndGet();
+            return pages.apply(page);
+        }, objectMapper, 0, 2, false)) {
+            while (iterator.hasNext()) {
+                EndUserResponse user = iterator.next();
+                ids.add(user.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static ClientHttpResponse body(String json) {
+        return new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,149 @@
+package com.authplatform.client.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tạo khóa, JWKS và JWT đã ký cho test.
+ */
+public final class TestJwts {
+
+    public static final String ISSUER = "https://auth.test";
+    public static final String API_KEY = "project-api-key";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private TestJwts() {
+    }
+
+    public static KeyPair rsaKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static KeyPair ecKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param keys cặp {@code kid}, khóa công khai ({@link RSAPublicKey} hoặc {@link ECPublicKey} P-256)
+     */
+    public static String jwks(Object... keys) {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (int i = 0; i < keys.length; i += 2) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kid", keys[i]);
+            jwk.put("use", "sig");
+            if (keys[i + 1] instanceof RSAPublicKey rsa) {
+                jwk.put("kty", "RSA");
+                jwk.put("n", base64Url(rsa.getModulus(), 0));
+                jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+            } else {
+                ECPublicKey ec = (ECPublicKey) keys[i + 1];
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-256");
+                jwk.put("x", base64Url(ec.getW().getAffineX(), 32));
+                jwk.put("y", base64Url(ec.getW().getAffineY(), 32));
+            }
+            jwks.add(jwk);
+        }
+        return json(Map.of("keys", jwks));
+    }
+
+    /**
+     * Claims mặc định: đúng issuer và project, hết hạn sau 5 phút.
+     */
+    public static Map<String, Object> claims(String userId) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", userId);
+        claims.put("userId", userId);
+        claims.put("email", userId + "@example.com");
+        claims.put("roles", List.of("USER"));
+        claims.put("maxRoleLevel", 100);
+        claims.put("iss", ISSUER);
+        claims.put("aud", API_KEY);
+        claims.put("exp", System.currentTimeMillis() / 1000 + 300);
+        return claims;
+    }
+
+    /**
+     * @param algorithm {@code RS256} hoặc {@code ES256}
+     */
+    public static String sign(String algorithm, String kid, KeyPair keyPair, Map<String, Object> claims) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", algorithm);
+        header.put("typ", "JWT");
+        header.put("kid", kid);
+        String signingInput = encode(json(header)) + "." + encode(json(claims));
+        try {
+            Signature signer = Signature.getInstance("RS256".equals(algorithm) ? "SHA256withRSA" : "SHA256withECDSAinP1363Format");
+            signer.initSign(keyPair.getPrivate());
+            signer.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + BASE64_URL.encodeToString(signer.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Token có header {@code alg} tùy ý và chữ ký giả, để thử các thuật toán không được hỗ trợ.
+     */
+    public static String unsigned(String algorithm, String kid, Map<String, Object> claims) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", algorithm);
+        header.put("kid", kid);
+        return encode(json(header)) + "." + encode(json(claims)) + "." + BASE64_URL.encodeToString(new byte[32]);
+    }
+
+    private static String encode(String json) {
+        return BASE64_URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    private static String json(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}